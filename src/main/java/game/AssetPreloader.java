@@ -0,0 +1,96 @@
+package main.java.game;
+
+import main.java.game.gfx.SpriteCache;
+import main.java.game.map.TiledLoader;
+import main.java.game.map.TiledMap;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Decodes everything a level needs (map + tileset, sprite sheets) in parallel on a small bounded pool,
+// so the EDT stays free to paint the loading screen. Decoded sheets land in the shared SpriteCache.
+public class AssetPreloader {
+
+    // What a level needs before the first tick
+    public static class Manifest {
+        private String mapPath;
+        private final Set<String> sheets = new LinkedHashSet<>();
+
+        public Manifest map(String resourcePath) {
+            this.mapPath = resourcePath;
+            return this;
+        }
+
+        public Manifest sheets(List<String> resourcePaths) {
+            sheets.addAll(resourcePaths);
+            return this;
+        }
+    }
+
+    public record Assets(TiledMap map, Map<String, BufferedImage> sheets) {
+    }
+
+    private static final int MAX_THREADS = 4; // PNG decode is CPU bound, more threads only fight the EDT
+
+    private final AtomicInteger done = new AtomicInteger();
+    private volatile int total = 1;
+
+    public float getProgress() {
+        return Math.min(1f, done.get() / (float) total);
+    }
+
+    public CompletableFuture<Assets> load(Manifest manifest) {
+        if (manifest.mapPath == null) throw new IllegalArgumentException("Manifest has no map");
+
+        // The on-disk cache only slows down stream decoding
+        ImageIO.setUseCache(false);
+
+        int threads = Math.max(1, Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors() - 1));
+        ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "asset-loader");
+            t.setDaemon(true);
+            return t;
+        });
+
+        done.set(0);
+        total = manifest.sheets.size() + 1;
+
+        // Map JSON + tileset image in one task: the tileset path is only known after parsing the map
+        CompletableFuture<TiledMap> mapFuture = CompletableFuture.supplyAsync(() -> {
+            TiledMap m = TiledLoader.loadJsonMap(manifest.mapPath);
+            done.incrementAndGet();
+            return m;
+        }, pool);
+
+        Map<String, CompletableFuture<BufferedImage>> sheetFutures = new LinkedHashMap<>();
+        for (String path : manifest.sheets) {
+            sheetFutures.put(path, CompletableFuture.supplyAsync(() -> {
+                BufferedImage img = SpriteCache.decode(path);
+                SpriteCache.put(path, img);
+                done.incrementAndGet();
+                return img;
+            }, pool));
+        }
+
+        List<CompletableFuture<?>> all = new ArrayList<>(sheetFutures.values());
+        all.add(mapFuture);
+
+        return CompletableFuture.allOf(all.toArray(new CompletableFuture<?>[0]))
+                .thenApply(v -> {
+                    Map<String, BufferedImage> sheets = new LinkedHashMap<>();
+                    sheetFutures.forEach((path, f) -> sheets.put(path, f.join()));
+                    return new Assets(mapFuture.join(), sheets);
+                })
+                .whenComplete((assets, err) -> pool.shutdown());
+    }
+}
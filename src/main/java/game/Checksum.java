@@ -0,0 +1,32 @@
+package main.java.game;
+
+// Order-sensitive 64-bit hash (FNV-1a over 32-bit words) of simulation state.
+// Two runs agree bit for bit only if every mixed value matches, floats included (raw bits, no epsilon).
+public final class Checksum {
+
+    public static final long START = 0xcbf29ce484222325L;
+    private static final long PRIME = 0x100000001b3L;
+
+    private Checksum() {
+    }
+
+    public static long mix(long h, int v) {
+        return (h ^ (v & 0xFFFFFFFFL)) * PRIME;
+    }
+
+    public static long mix(long h, long v) {
+        return mix(mix(h, (int) v), (int) (v >>> 32));
+    }
+
+    public static long mix(long h, double v) {
+        return mix(h, Double.doubleToRawLongBits(v));
+    }
+
+    public static long mix(long h, float v) {
+        return mix(h, Float.floatToRawIntBits(v));
+    }
+
+    public static long mix(long h, boolean v) {
+        return mix(h, v ? 1 : 0);
+    }
+}
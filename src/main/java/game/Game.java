@@ -23,8 +23,8 @@ public class Game {
             frame.setVisible(true);
             panel.requestFocusInWindow();
 
-            panel.init();
-            panel.startLoop();
+            // Assets load in the background, the loop starts once everything is ready
+            panel.init().thenRun(panel::startLoop);
         });
     }
 }
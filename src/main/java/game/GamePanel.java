@@ -1,7 +1,16 @@
 package main.java.game;
 
+import main.java.game.gfx.AnimationClips;
+import main.java.game.gfx.BandRenderer;
 import main.java.game.gfx.Camera;
+import main.java.game.gfx.Raster;
+import main.java.game.gfx.RenderBatch;
+import main.java.game.gfx.SpriteCache;
+import main.java.game.gfx.SpritePixels;
 import main.java.game.input.Input;
+import main.java.game.input.InputRecorder;
+import main.java.game.input.InputReplay;
+import main.java.game.map.MapSurface;
 import main.java.game.map.TiledLoader;
 import main.java.game.map.TiledMap;
 import main.java.game.entity.Player;
@@ -10,11 +19,22 @@ import main.java.game.physics.Rect;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
-
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.ObjIntConsumer;
+
+import main.java.game.entity.AiScheduler;
+import main.java.game.entity.EnemyPool;
 import main.java.game.entity.EnemyWarrior;
+import main.java.game.entity.Projectiles;
+import main.java.game.entity.UnitType;
 
 public class GamePanel extends JPanel implements Runnable {
 
@@ -23,23 +43,62 @@ public class GamePanel extends JPanel implements Runnable {
     private Thread loopThread;
     private volatile boolean running;
 
-    private GameState state = GameState.PLAYING;
-
     private BufferedImage backbuffer;
     private Graphics2D g;
 
+    // -Dgame.rasterBlit=true: map and entity batch are blitted straight into the backbuffer's int[]
+    // (HUD text still goes through Graphics2D). -Dgame.renderThreads=<n> splits that into n horizontal
+    // bands rasterized in parallel (same pixels as 1).
+    private static final boolean RASTER_BLIT = Boolean.getBoolean("game.rasterBlit");
+    private static final int RENDER_THREADS = Integer.getInteger("game.renderThreads", 1);
+    private static final int CLEAR_ARGB = 0xFF181A1D; // (24, 26, 29)
+    private BandRenderer bands;
+    private final ObjIntConsumer<Raster> bandPainter = this::paintBand;
+    private TiledMap frameMap;   // what paintBand draws this frame
+    private Camera frameCamera;
+
+    // Map layers kept in a persistent surface, scrolled by the camera delta (-Dgame.scrollBlit=false: redraw all)
+    private static final boolean SCROLL_BLIT = !"false".equals(System.getProperty("game.scrollBlit"));
+    private final MapSurface mapSurface = SCROLL_BLIT ? new MapSurface(CLEAR_ARGB) : null;
+    private int surfaceResets = -1;
+
     private Input input;
-    private TiledMap map;
-    private Camera camera;
-    private Player player;
-    private final List<EnemyWarrior> enemies = new ArrayList<>();
+    private volatile World world; // read by the resource watcher thread in dev mode
     private final Object renderLock = new Object();
-
-    public enum GameState {
-        PLAYING,
-        GAME_OVER,
-        WIN
-    }
+    private final RenderBatch batch = new RenderBatch();
+
+    // --- Deterministic record / replay ---
+    // -Dgame.record=<file> writes every tick's input mask, -Dgame.replay=<file> plays one back
+    // (same map and seed; live input takes over when it runs out). -Dgame.seed pins the seed.
+    private InputRecorder recorder;
+    private InputReplay replay;
+
+    // --- Quick save / load (F5 / F9) ---
+    // World snapshot to -Dgame.quicksave (default quicksave.bin). Off while recording or replaying:
+    // a jump in state can't be reproduced from the input masks.
+    private final Path quicksaveFile = Path.of(System.getProperty("game.quicksave", "quicksave.bin"));
+    private final WorldSnapshot quicksave = new WorldSnapshot();
+
+    // --- Dev mode hot reload (-Dgame.dev=true) ---
+    // Resources are read from the source tree (-Dgame.devRoot, default "src") and watched for changes.
+    // The watcher thread reparses assets and queues the swaps here; the game loop applies them between ticks.
+    private static final boolean DEV_MODE = Boolean.getBoolean("game.dev");
+    private final Queue<Runnable> pendingSwaps = new ConcurrentLinkedQueue<>();
+    private ResourceWatcher resourceWatcher;
+    private String mapResourcePath;
+
+    // --- Startup cost ---
+    // Only the warm-up sheets are decoded before the first frame; other clips load on first use.
+    // -Dgame.lazyClips=false preloads every sheet instead (to compare time-to-first-frame / memory).
+    private static final boolean LAZY_CLIPS = !"false".equals(System.getProperty("game.lazyClips"));
+    private List<String> warmupSheets;
+    private long initStartNanos;
+    private boolean firstFrameReported;
+
+    // Loading screen state (EDT only)
+    private AssetPreloader preloader;
+    private Timer loadingTimer;
+    private volatile String loadError;
 
     public GamePanel(int virtualW, int virtualH, int scale) {
         this.vw = virtualW;
@@ -49,26 +108,114 @@ public class GamePanel extends JPanel implements Runnable {
         requestFocusInWindow();
     }
 
-    public void init() {
+    public CompletableFuture<Void> init() {
+        initStartNanos = System.nanoTime();
         backbuffer = new BufferedImage(vw, vh, BufferedImage.TYPE_INT_ARGB);
-        String mapResourcePath = "/main/resources/maps/demo.json";
+        mapResourcePath = "/main/resources/maps/demo.json";
+        long seed = Long.getLong("game.seed", System.nanoTime());
+
+        String replayFile = System.getProperty("game.replay");
+        if (replayFile != null) {
+            replay = new InputReplay(Path.of(replayFile));
+            mapResourcePath = replay.getMapId();
+            seed = replay.getSeed();
+            System.out.println("Replaying " + replayFile + " (" + replay.getTickCount() + " ticks)");
+        }
+        final long worldSeed = seed;
 
         g = backbuffer.createGraphics();
+        if (RASTER_BLIT) {
+            bands = new BandRenderer(backbuffer, RENDER_THREADS);
+            batch.setRasterMode(true);
+            System.out.println("Raster renderer, " + bands.getBandCount() + " band(s)");
+        }
         g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
 
         input = new Input();
         addKeyListener(input);
 
-        try {
-            map = TiledLoader.loadJsonMap(mapResourcePath);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to load map: " + e.getMessage(), e);
+        if (DEV_MODE) startResourceWatcher();
+
+        // Decode everything off the EDT, paint the loading screen meanwhile
+        warmupSheets = new ArrayList<>();
+        if (LAZY_CLIPS) {
+            warmupSheets.addAll(Player.warmupSheets(World.PLAYER_BASE));
+            warmupSheets.addAll(EnemyWarrior.warmupSheets(World.ENEMY_BASE));
+            warmupSheets.addAll(EnemyWarrior.warmupSheets(World.ARCHER_BASE, UnitType.ARCHER));
+        } else {
+            warmupSheets.addAll(Player.sheetPaths(World.PLAYER_BASE));
+            warmupSheets.addAll(EnemyWarrior.sheetPaths(World.ENEMY_BASE));
+            warmupSheets.addAll(EnemyWarrior.sheetPaths(World.ARCHER_BASE, UnitType.ARCHER));
         }
+        warmupSheets.add(Projectiles.ARROW_SHEET);
+        AssetPreloader.Manifest manifest = new AssetPreloader.Manifest()
+                .map(mapResourcePath)
+                .sheets(warmupSheets);
+
+        preloader = new AssetPreloader();
+        loadingTimer = new Timer(1000 / 30, e -> renderLoading());
+        loadingTimer.start();
+
+        // Finish on the EDT; callers chain startLoop() on the returned future
+        return preloader.load(manifest)
+                .thenAcceptAsync(assets -> onAssetsLoaded(assets, worldSeed), SwingUtilities::invokeLater)
+                .whenComplete((v, err) -> {
+                    if (err != null) {
+                        loadError = "Failed to load assets: " + err.getCause();
+                        err.printStackTrace();
+                        SwingUtilities.invokeLater(this::renderLoading);
+                    }
+                });
+    }
 
-        camera = new Camera(0, 0, vw, vh, map.getPixelWidth(), map.getPixelHeight());
+    // EDT, once every asset is decoded
+    private void onAssetsLoaded(AssetPreloader.Assets assets, long seed) {
+        loadingTimer.stop();
+
+        world = new World(assets.map(), vw, vh, seed);
+        world.reset();
+        // Entities have registered their clips by now: slice the warm-up ones (and rotate the arrow) before the
+        // first frame
+        AnimationClips.warmUp(warmupSheets);
+        Projectiles.warmUp();
+
+        String recordFile = System.getProperty("game.record");
+        if (recordFile != null) {
+            recorder = new InputRecorder(Path.of(recordFile), seed, mapResourcePath);
+            // EXIT_ON_CLOSE runs shutdown hooks: the last run gets flushed
+            Runtime.getRuntime().addShutdownHook(new Thread(recorder::close, "replay-flush"));
+            System.out.println("Recording input to " + recordFile);
+        }
+    }
+
+    // EDT, driven by loadingTimer until the preloader completes
+    private void renderLoading() {
+        synchronized (renderLock) {
+            g.setColor(new Color(24, 26, 29));
+            g.fillRect(0, 0, vw, vh);
 
-        spawnPlayerTile(5, 5);
-        spawnEnemies();
+            int barW = 400;
+            int barH = 16;
+            int barX = vw / 2 - barW / 2;
+            int barY = vh / 2;
+
+            g.setFont(new Font("Arial", Font.PLAIN, 18));
+            g.setColor(Color.WHITE);
+
+            if (loadError != null) {
+                g.drawString(loadError, barX, barY);
+            } else {
+                g.drawString("Loading... " + (int) (preloader.getProgress() * 100) + "%", barX, barY - 10);
+
+                g.setColor(new Color(0, 0, 0, 160));
+                g.fillRect(barX, barY, barW, barH);
+                g.setColor(new Color(60, 220, 120));
+                g.fillRect(barX, barY, (int) (barW * preloader.getProgress()), barH);
+                g.setColor(new Color(255, 255, 255, 200));
+                g.drawRect(barX, barY, barW, barH);
+            }
+        }
+        repaint();
     }
 
     @Override
@@ -81,27 +228,58 @@ public class GamePanel extends JPanel implements Runnable {
     }
 
 
-    private void spawnEnemies() {
-        enemies.clear();
-        spawnEnemyTile(8, 7);
-        spawnEnemyTile(11, 4);
-        spawnEnemyTile(12, 10);
-        spawnEnemyTile(15, 7);
-        spawnEnemyTile(15, 7);
-        spawnEnemyTile(20, 5);
+    private void startResourceWatcher() {
+        Path root = Path.of(System.getProperty("game.devRoot", "src"));
+        Resources.setDevRoot(root);
+        resourceWatcher = new ResourceWatcher(root, root.resolve("main/resources"), this::onResourcesChanged);
+        try {
+            resourceWatcher.start();
+            if (DEBUG) System.out.println("Hot reload: watching " + root.resolve("main/resources").toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("Hot reload disabled: " + e.getMessage());
+            resourceWatcher = null;
+        }
     }
 
-    // Helper to spawn in tile coordinates.
-    private void spawnPlayerTile(int tileX, int tileY) {
-        int TILE = 64;
-        String playerBase = "/main/resources/sprites/player/Black_Units/Warrior/";
-        player = new Player(tileX * TILE + TILE / 2f, tileY * TILE + TILE / 2f, playerBase);
+    // Runs on the watcher thread: do the slow decode/parse here, only queue the swap.
+    private void onResourcesChanged(Set<String> changed) {
+        TiledMap current = world != null ? world.getMap() : null;
+        boolean mapQueued = false;
+
+        for (String res : changed) {
+            try {
+                if (current != null && current.dependsOn(res)) {
+                    if (mapQueued) continue; // map + tileset saved together: reparse once
+                    TiledMap fresh = TiledLoader.loadJsonMap(mapResourcePath);
+                    pendingSwaps.add(() -> swapMap(fresh));
+                    mapQueued = true;
+                } else if (res.endsWith(".png") && SpriteCache.contains(res)) {
+                    BufferedImage sheet = SpriteCache.decode(res);
+                    pendingSwaps.add(() -> swapSheet(res, sheet));
+                }
+            } catch (RuntimeException e) {
+                // Keep playing with the old asset, half-saved files are common while editing
+                System.err.println("Hot reload failed for " + res + ": " + e.getMessage());
+            }
+        }
     }
 
-    private void spawnEnemyTile(int tileX, int tileY) {
-        int TILE = 64;
-        String redBase = "/main/resources/sprites/player/Red_Units/Warrior/";
-        enemies.add(new EnemyWarrior(tileX * TILE + TILE / 2f, tileY * TILE + TILE / 2f, redBase));
+    private void applyPendingSwaps() {
+        Runnable swap;
+        while ((swap = pendingSwaps.poll()) != null) swap.run();
+    }
+
+    private void swapMap(TiledMap fresh) {
+        world.swapMap(fresh);
+        if (DEBUG) System.out.println("Hot reload: map " + mapResourcePath);
+    }
+
+    private void swapSheet(String res, BufferedImage sheet) {
+        SpriteCache.put(res, sheet);
+        RenderBatch.clearFadeCache();
+        SpritePixels.clearCache();
+        world.reloadAnimations(res);
+        if (DEBUG) System.out.println("Hot reload: sheet " + res);
     }
 
     public void startLoop() {
@@ -124,7 +302,9 @@ public class GamePanel extends JPanel implements Runnable {
             last = now;
 
             while (acc >= 1.0) {
-                update(1.0 / targetFps);
+                // When catching up, each tick only sees the input that happened before its own slot ended
+                long tickEnd = now - (long) ((acc - 1.0) * nsPerUpdate);
+                update(1.0 / targetFps, tickEnd);
                 acc -= 1.0;
             }
             render();
@@ -132,143 +312,130 @@ public class GamePanel extends JPanel implements Runnable {
         }
     }
 
-    private void update(double dt) {
-
-        if (state == GameState.WIN || state == GameState.GAME_OVER) {
-            if (input.isRestart()) restart();
-            return;
+    private void update(double dt, long tickEnd) {
+        if (DEV_MODE) applyPendingSwaps();
+
+        // Input is sampled exactly once per tick; the simulation only ever sees this mask.
+        // Always drained, so live keys don't pile up behind a replay.
+        input.poll(tickEnd);
+        int mask;
+        boolean replaying = replay != null && replay.hasNext();
+        if (replaying) {
+            mask = replay.next();
+        } else {
+            mask = input.sample();
         }
+        if (recorder != null) recorder.record(mask);
 
-        // Movement (WASD / Arrow keys)
-        float speed = 120f; // pixels per second
-        float dx = 0, dy = 0;
-        boolean guarding = input.isGuard();
+        world.update(mask, dt);
 
-        if (!guarding) {
-            if (input.isUp()) dy -= (float) (speed * dt);
-            if (input.isDown()) dy += (float) (speed * dt);
-            if (input.isLeft()) dx -= (float) (speed * dt);
-            if (input.isRight()) dx += (float) (speed * dt);
-        }
+        int tools = input.getPressed() & (Input.QUICKSAVE | Input.QUICKLOAD);
+        if (tools != 0) quickSaveOrLoad(tools);
 
-        player.tick(dt);
+        if (replaying && !replay.hasNext()) {
+            System.out.printf("Replay finished after %d ticks, checksum %016x%n", replay.getTickCount(),
+                    world.getChecksum());
+        }
+    }
 
-        player.move(map, dx, dy);
+    private void quickSaveOrLoad(int keys) {
+        if (recorder != null || replay != null) {
+            System.out.println("Quick save/load is disabled while recording or replaying");
+            return;
+        }
+        try {
+            long t0 = System.nanoTime();
+            if ((keys & Input.QUICKSAVE) != 0) {
+                quicksave.capture(world);
+                quicksave.save(quicksaveFile);
+                System.out.printf("Quick saved to %s (%d bytes, %.2f ms)%n", quicksaveFile, quicksave.size(),
+                        (System.nanoTime() - t0) / 1e6);
+            } else if (Files.exists(quicksaveFile)) {
+                WorldSnapshot.load(quicksaveFile).restore(world);
+                System.out.printf("Quick loaded %s (%.2f ms)%n", quicksaveFile, (System.nanoTime() - t0) / 1e6);
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Quick save/load failed: " + e.getMessage());
+        }
+    }
 
-        camera.centerOn(player.x, player.y);
+    boolean DEBUG = true;
 
-        player.update(dx, dy, input.isAttack(), input.isGuard());
+    private void render() {
+        TiledMap map = world.getMap();
+        Camera camera = world.getCamera();
+        Player player = world.getPlayer();
+        World.GameState state = world.getState();
 
-        if (player.isDead()) {
-            state = GameState.GAME_OVER;
-        }
+        synchronized (renderLock) {
+            // One integer origin for the whole frame: surface, tiles, props, units and arrows
+            camera.snapOrigin();
 
-        Iterator<EnemyWarrior> it = enemies.iterator();
-
-        while (it.hasNext()) {
-            EnemyWarrior e = it.next();
-
-            // Update AI unless fully removed
-            if (!e.isRemoved()) {
-                e.updateAI(map, player, dt);
-                // Enemy hits and player blocks
-                if (!player.isDead() && !e.isDead() && !e.isRemoved()) {
-                    Rect ehb = e.getAttackHitbox();
-                    if (ehb != null) {
-                        Rect phb = player.getHurtbox();
-                        if (phb.intersects(ehb.x, ehb.y, ehb.w, ehb.h)) {
-
-                            if (player.isGuarding()) {
-                                // Block: no damage but push player back
-                                player.applyKnockbackFrom(e.x, e.y, 240f, 8);
-
-                                // stop enemy from "grinding" on the guard
-                                e.cancelAttackAndStartCooldown();
-                            } else {
-                                // Not guarding: take damage
-                                player.takeHit(10);
-                            }
-                        }
-                    }
+            // clear
+            if (mapSurface != null) {
+                if (world.getResetCount() != surfaceResets) {
+                    surfaceResets = world.getResetCount();
+                    mapSurface.invalidate();
                 }
+                mapSurface.update(map, camera);
+            }
 
-                if (!player.isDead() && !e.isDead()) {
-                    Rect pb = player.getHurtbox(); // pb = player box
-                    Rect eb = e.getHurtbox(); // eb = enemy box
+            if (bands == null) {
+                if (mapSurface != null) {
+                    g.drawImage(mapSurface.getImage(), 0, 0, null);
+                } else {
+                    g.setColor(new Color(24, 26, 29));
+                    g.fillRect(0, 0, vw, vh);
 
-                    if (eb.intersects(pb.x, pb.y, pb.w, pb.h)) player.takeHit(10);
+                    // draw map (background + main layers only)
+                    map.draw(g, camera);
                 }
             }
 
-            if (!e.isDead() && player.isAttackActive()) {
-                Rect hitbox = player.getAttackHitbox();
-                if (hitbox != null) {
-                    Rect enemyBox = e.getHurtbox();
+            // Entities and props: culled against the camera, sorted by foot Y, then batched
+            // (sprites, then HP bars, then debug boxes, each state set once)
+            world.getRenderQueue().submit(batch, camera);
+            // Arrows over everything else, one blit each (off-screen ones skipped)
+            world.getProjectiles().draw(batch, camera);
 
-                    if (enemyBox.intersects(hitbox.x, hitbox.y, hitbox.w, hitbox.h)) {
-                        e.takeHit(10, player.getAttackId(), player.x, player.y);
-                    }
-                }
-            }
+            if (DEBUG) {
+                graphicDebugging();
+                debugDrawAttackHitbox(batch, camera);
+                player.debugDrawAttackHitbox(batch, camera);
+                player.debugDrawCollision(batch, camera);
 
-            // Enemy hits player
-            if (!e.isDead() && !e.isRemoved()) {
-                Rect ehb = e.getAttackHitbox();
-                if (ehb != null) {
-                    Rect phb = player.getHurtbox();
-                    if (phb.intersects(ehb.x, ehb.y, ehb.w, ehb.h)) {
-                        player.takeHit(12); // tune
-                    }
+                for (EnemyWarrior e : world.getEnemies()) {
+                    e.debugDrawCollision(batch, camera);
+                    e.debugDrawAttackHitbox(batch, camera);
                 }
             }
 
-            // Clean up after the fade
-            if (e.isRemoved()) {
-                it.remove();
+            if (bands != null) {
+                // Clear, map and batch per band, in parallel; all joined before the HUD
+                frameMap = map;
+                frameCamera = camera;
+                batch.bucketBands(bands.getBandCount(), backbuffer.getHeight());
+                bands.render(bandPainter);
+                batch.begin();
+            } else {
+                batch.flush(g);
             }
-        }
 
-        if (enemies.isEmpty()) {
-            state = GameState.WIN;
-            return;
-        }
-
-        if (player.isDead()) {
-            state = GameState.GAME_OVER;
-        }
-    }
-
-    private void restart() {
-        state = GameState.PLAYING;
-        spawnPlayerTile(5, 5);
-        spawnEnemies();
-        camera.centerOn(player.x, player.y);
-    }
-
-    boolean DEBUG = true;
-
-    private void render() {
-        synchronized (renderLock) {
-            // clear
-            g.setColor(new Color(24, 26, 29));
-            g.fillRect(0, 0, vw, vh);
-
-            // draw map (background + main layers only)
-            map.draw(g, camera);
-
-            // draw enemies if alive
-            for (EnemyWarrior e : enemies) {
-                if (!e.isRemoved()) e.draw(g, camera);
+            if (DEBUG && !firstFrameReported) {
+                firstFrameReported = true;
+                System.out.printf("First frame %.0f ms after init: %d/%d clips resident, %d sheets, %.1f MB sprite memory%s%n",
+                        (System.nanoTime() - initStartNanos) / 1e6, AnimationClips.residentCount(), AnimationClips.size(),
+                        SpriteCache.sheetCount(), SpriteCache.residentBytes() / (1024.0 * 1024.0),
+                        LAZY_CLIPS ? "" : " (lazy clips off)");
             }
 
-            // draw player
-            player.draw(g, camera);
-
             // HUD (debug)
             g.setColor(Color.WHITE);
-            g.drawString("pos:" + (int) player.x + "," + (int) player.y, 4, 12);
+            g.drawString("pos:" + (int) player.x + "," + (int) player.y
+                    + " drawn:" + world.getRenderQueue().getVisibleCount() + "/" + world.getRenderQueue().size()
+                    + (mapSurface != null ? " map tiles:" + mapSurface.getTilesDrawn() : ""), 4, 12);
 
-            if (state == GameState.GAME_OVER) {
+            if (state == World.GameState.GAME_OVER) {
                 g.setColor(new Color(0, 0, 0, 180));
                 g.fillRect(0, 0, vw, vh);
 
@@ -281,7 +448,7 @@ public class GamePanel extends JPanel implements Runnable {
                 g.drawString("Press R to Restart", vw / 2 - 95, vh / 2 + 35);
             }
 
-            if (state == GameState.WIN) {
+            if (state == World.GameState.WIN) {
                 g.setColor(new Color(0, 0, 0, 180));
                 g.fillRect(0, 0, vw, vh);
 
@@ -296,46 +463,64 @@ public class GamePanel extends JPanel implements Runnable {
 
             // DEBUGGING
             if (DEBUG) {
-                graphicDebugging();
-                debugDrawAttackHitbox(g, camera);
-                player.debugDrawAttackHitbox(g, camera);
-                player.debugDrawCollision(g, camera);
-
-                for (EnemyWarrior e : enemies) {
-                    e.debugDrawCollision(g, camera);
-                    e.debugDrawAttackHitbox(g, camera);
-                }
+                g.setColor(Color.WHITE);
+                EnemyPool enemyPool = world.getEnemyPool();
+                AiScheduler aiScheduler = world.getAiScheduler();
+                g.drawString("pool hit:" + (int) (enemyPool.getHitRate() * 100) + "% free:" + enemyPool.getFreeCount()
+                        + " alloc:" + enemyPool.getAllocatedCount(), 4, 26);
+                g.drawString("ai full:" + aiScheduler.getFullCount() + " reduced:" + aiScheduler.getReducedCount()
+                        + " sleep:" + aiScheduler.getSleepCount(), 4, 40);
+                g.drawString("spawns:" + world.getSpawnTable().size() + " live:" + world.getEnemies().size()
+                        + " alive:" + world.getAliveCount(), 4, 54);
+                Projectiles arrows = world.getProjectiles();
+                g.drawString("arrows:" + arrows.getLiveCount() + "/" + arrows.getCapacity()
+                        + " dropped:" + arrows.getDropped(), 4, 68);
             }
         }
         repaint();
     }
 
     // ----- DEBUGGING -----
+    private static final Color DEBUG_MAP_COLLIDER_COLOR = new Color(255, 0, 0, 100);
+    private static final Color DEBUG_HITBOX_COLOR = new Color(255, 0, 0, 120);
+
+    // One band of the frame (BandRenderer thread): read-only on map, camera and the filled batch
+    private void paintBand(Raster r, int band) {
+        if (mapSurface != null) {
+            r.copyOpaque(mapSurface.getPixels(), vw, 0, 0, vw, vh, 0, 0);
+        } else {
+            r.clear(CLEAR_ARGB);
+            frameMap.draw(r, frameCamera);
+        }
+        batch.replay(r, band);
+    }
 
     private void graphicDebugging() {
+        TiledMap map = world.getMap();
+        Camera camera = world.getCamera();
+        Player player = world.getPlayer();
+
         // Draw map colliders in translucent red
-        g.setColor(new Color(255, 0, 0, 100));
         for (Rect r : map.colliders) {
-            int sx = (int) (r.x - camera.x);
-            int sy = (int) (r.y - camera.y);
-            g.fillRect(sx, sy, r.w, r.h);
+            int sx = r.x - camera.originX;
+            int sy = r.y - camera.originY;
+            batch.debugRect(DEBUG_MAP_COLLIDER_COLOR, sx, sy, r.w, r.h, true);
         }
 
         // Draw player collision box in cyan
-        player.debugDrawCollision(g, camera);
+        player.debugDrawCollision(batch, camera);
 
         // Logs for debugging
     }
 
-    public void debugDrawAttackHitbox(Graphics2D g, Camera cam) {
-        Rect hb = player.getAttackHitbox();
+    public void debugDrawAttackHitbox(RenderBatch batch, Camera cam) {
+        Rect hb = world.getPlayer().getAttackHitbox();
         if (hb == null) return;
 
-        int sx = (int) (hb.x - cam.x);
-        int sy = (int) (hb.y - cam.y);
+        int sx = hb.x - cam.originX;
+        int sy = hb.y - cam.originY;
 
-        g.setColor(new Color(255, 0, 0, 120));
-        g.drawRect(sx, sy, hb.w, hb.h);
+        batch.debugRect(DEBUG_HITBOX_COLOR, sx, sy, hb.w, hb.h, false);
     }
 
 }
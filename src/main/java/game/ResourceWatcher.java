@@ -0,0 +1,103 @@
+package main.java.game;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+// Dev-mode watcher over the resource source tree (e.g. "src/main/resources").
+// Runs on its own daemon thread and reports changed files as classpath-style resource paths
+// ("/main/resources/maps/demo.json"). The callback also runs on that thread, so it may do the
+// (slow) reparsing itself; anything touching game state must be handed over to the game loop.
+public class ResourceWatcher implements Runnable {
+
+    // Editors usually fire several events per save (truncate, write, rename...). Wait until quiet.
+    private static final long DEBOUNCE_MS = 150;
+
+    private final Path root;       // resource root, e.g. "src"
+    private final Path watchDir;   // directory actually watched, e.g. "src/main/resources"
+    private final Consumer<Set<String>> onChange;
+    private WatchService watcher;
+    private Thread thread;
+    private volatile boolean running;
+
+    public ResourceWatcher(Path root, Path watchDir, Consumer<Set<String>> onChange) {
+        this.root = root.toAbsolutePath().normalize();
+        this.watchDir = watchDir.toAbsolutePath().normalize();
+        this.onChange = onChange;
+    }
+
+    public void start() throws IOException {
+        if (thread != null) return;
+        watcher = FileSystems.getDefault().newWatchService();
+        registerAll(watchDir);
+        running = true;
+        thread = new Thread(this, "resource-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void stop() {
+        running = false;
+        try {
+            if (watcher != null) watcher.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            try {
+                WatchKey key = watcher.take();
+                Set<String> changed = new LinkedHashSet<>();
+                while (key != null) {
+                    collect(key, changed);
+                    key = watcher.poll(DEBOUNCE_MS, TimeUnit.MILLISECONDS);
+                }
+                if (!changed.isEmpty()) onChange.accept(changed);
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            } catch (RuntimeException e) {
+                // A bad asset must never kill the watcher, just report it and keep watching
+                System.err.println("Resource watcher: " + e.getMessage());
+            }
+        }
+    }
+
+    private void collect(WatchKey key, Set<String> changed) {
+        Path dir = (Path) key.watchable();
+        for (WatchEvent<?> ev : key.pollEvents()) {
+            if (ev.kind() == OVERFLOW) continue;
+            Path file = dir.resolve((Path) ev.context());
+
+            if (Files.isDirectory(file)) {
+                // New folders (e.g. a new unit pack) need their own registration
+                if (ev.kind() == ENTRY_CREATE) {
+                    try {
+                        registerAll(file);
+                    } catch (IOException e) {
+                        System.err.println("Resource watcher: cannot watch " + file + ": " + e.getMessage());
+                    }
+                }
+                continue;
+            }
+            changed.add(Resources.toResourcePath(root, file));
+        }
+        key.reset();
+    }
+
+    // WatchService is not recursive, every sub-folder is registered on its own
+    private void registerAll(Path start) throws IOException {
+        try (Stream<Path> dirs = Files.walk(start)) {
+            for (Path d : (Iterable<Path>) dirs.filter(Files::isDirectory)::iterator) {
+                d.register(watcher, ENTRY_CREATE, ENTRY_MODIFY);
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package main.java.game;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class Resources {
+
+    // When set (dev mode), resources are read straight from the source tree instead of the classpath,
+    // so edits in src/main/resources are picked up without rebuilding.
+    // e.g. "/main/resources/maps/demo.json" -> "<devRoot>/main/resources/maps/demo.json"
+    private static volatile Path devRoot;
+
+    public static void setDevRoot(Path root) {
+        devRoot = root;
+    }
+
+    public static Path getDevRoot() {
+        return devRoot;
+    }
+
+    // Opens a classpath-style resource ("/main/resources/..."). Returns null when missing, like getResourceAsStream.
+    public static InputStream open(String resourcePath) throws IOException {
+        Path root = devRoot;
+        if (root != null) {
+            Path file = toFile(root, resourcePath);
+            if (Files.isRegularFile(file)) return Files.newInputStream(file);
+        }
+        return Resources.class.getResourceAsStream(resourcePath);
+    }
+
+    // Maps a file under the dev root back to its classpath-style resource path.
+    public static String toResourcePath(Path root, Path file) {
+        String rel = root.relativize(file).toString().replace('\\', '/');
+        return "/" + rel;
+    }
+
+    private static Path toFile(Path root, String resourcePath) {
+        String rel = resourcePath.startsWith("/") ? resourcePath.substring(1) : resourcePath;
+        return root.resolve(rel);
+    }
+}
@@ -0,0 +1,41 @@
+package main.java.game;
+
+import java.util.Random;
+
+// java.util.Random with its 48-bit state readable and settable, so world snapshots can capture it.
+// Same generator and constants, so a given seed yields exactly the sequence Random would.
+// (nextGaussian's cached second value is not part of the state; the simulation doesn't use it.)
+public class SimRandom extends Random {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    private long state; // set by setSeed from Random's constructor
+
+    public SimRandom(long seed) {
+        super(seed);
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+        super.setSeed(seed);
+        state = (seed ^ MULTIPLIER) & MASK;
+    }
+
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    public long getState() {
+        return state;
+    }
+
+    public void setState(long state) {
+        this.state = state & MASK;
+    }
+}
@@ -0,0 +1,647 @@
+package main.java.game;
+
+import main.java.game.entity.AiScheduler;
+import main.java.game.entity.EnemyPool;
+import main.java.game.entity.EnemyTuning;
+import main.java.game.entity.EnemyWarrior;
+import main.java.game.entity.Player;
+import main.java.game.entity.Projectiles;
+import main.java.game.entity.UnitType;
+import main.java.game.gfx.AnimationClips;
+import main.java.game.gfx.Camera;
+import main.java.game.gfx.RenderQueue;
+import main.java.game.input.Input;
+import main.java.game.map.SpawnPoint;
+import main.java.game.map.SpawnTable;
+import main.java.game.map.TiledMap;
+import main.java.game.physics.Rect;
+import main.java.game.physics.SpatialGrid;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// The simulation: map, player, enemies and the per-tick rules, without any window or input device.
+// GamePanel drives it from the keyboard (or a replay) and renders it; headless tools step it directly.
+// Given the same map, seed and per-tick input masks, update() produces the same session.
+public class World {
+
+    public enum GameState {
+        PLAYING,
+        GAME_OVER,
+        WIN
+    }
+
+    private static final GameState[] STATES = GameState.values();
+
+    public static final String PLAYER_BASE = "/main/resources/sprites/player/Black_Units/Warrior/";
+    public static final String ENEMY_BASE = "/main/resources/sprites/player/Red_Units/Warrior/";
+    public static final String ARCHER_BASE = "/main/resources/sprites/player/Red_Units/Archer/";
+
+    private static final int TILE = 64;
+    private static final float PLAYER_SPEED = 120f; // pixels per second
+
+    private static final int BROADPHASE_CELL = 64;
+    private static final int SEPARATION_DIST = 20;        // px between enemy centers
+    private static final float SEPARATION_STRENGTH = 0.5f; // fraction of the overlap resolved per tick
+
+    // Spawn streaming: a spawn's enemies are created once it is this close to the view (px beyond each edge),
+    // and a live enemy goes back to its pool once it is twice as far (the gap keeps edge spawns from flickering)
+    private static final int SPAWN_RADIUS = Integer.getInteger("game.spawnRadius", 256);
+    private static final int DESPAWN_RADIUS = SPAWN_RADIUS * 2;
+
+    // Archer arrows: one fixed pool per world, sized for the worst wave (spawns beyond it are dropped)
+    private static final int PROJECTILE_CAPACITY = Integer.getInteger("game.projectiles", 4096);
+    private static final float ARROW_SPEED = 420f; // pixels per second
+    private static final int ARROW_TTL = 150;      // ticks, ~1000 px of flight
+    private static final int ARROW_DAMAGE = 10;
+
+    private volatile TiledMap map; // read by the resource watcher thread in dev mode
+    private Camera camera;
+    private final int viewW, viewH;
+
+    private GameState state = GameState.PLAYING;
+    private Player player;
+    private final List<EnemyWarrior> enemies = new ArrayList<>();
+    private final EnemyPool enemyPool;
+    // By unit kind, then sprite base (spawns may override it): two spawns sharing a folder as different units
+    // must not hand each other their enemies
+    private final Map<UnitType, Map<String, EnemyPool>> enemyPools = new HashMap<>();
+    private Projectiles projectiles;
+    private final AiScheduler aiScheduler;
+
+    // Broadphase for combat: enemy hurtboxes and active enemy attack hitboxes
+    private SpatialGrid<EnemyWarrior> hurtboxGrid;
+    private SpatialGrid<EnemyWarrior> hitboxGrid;
+    private final List<EnemyWarrior> candidates = new ArrayList<>();
+
+    // Draw list membership follows spawns/despawns; GamePanel only submits it
+    private final RenderQueue renderQueue = new RenderQueue();
+
+    // Per enemy spawn: enemies not killed yet, and how many of those are instantiated right now.
+    // A released enemy is still alive; it comes back fresh from its spawn when the camera returns.
+    private SpawnTable spawns;
+    private int[] spawnAlive;
+    private int[] spawnLive;
+    private int[] spawnHits; // query buffer
+    private int aliveTotal;
+
+    // Any gameplay randomness must come from here, so a recorded seed reproduces the session
+    private final long seed;
+    private SimRandom rng;
+
+    // State right after the first full level init on this map; restarts restore it instead of rebuilding
+    private WorldSnapshot levelStart;
+
+    private long tick = 0;
+    private long checksum = 0;
+    private int resetCount = 0; // lets renderers drop caches on restart
+
+    public World(TiledMap map, int viewW, int viewH, long seed) {
+        this(map, viewW, viewH, seed, EnemyTuning.DEFAULT);
+    }
+
+    // Enemy AI knobs for this world only (WorldBatch parameter sweeps)
+    public World(TiledMap map, int viewW, int viewH, long seed, EnemyTuning tuning) {
+        this.map = map;
+        this.viewW = viewW;
+        this.viewH = viewH;
+        this.seed = seed;
+        this.aiScheduler = new AiScheduler(tuning);
+        this.camera = new Camera(0, 0, viewW, viewH, map.getPixelWidth(), map.getPixelHeight());
+        createBroadphase();
+
+        // Sized for the current level, grows in small steps for waves; archers are fewer
+        this.enemyPool = new EnemyPool(ENEMY_BASE, UnitType.WARRIOR, 8, 4, 64);
+        addPool(UnitType.WARRIOR, ENEMY_BASE, enemyPool);
+        addPool(UnitType.ARCHER, ARCHER_BASE, new EnemyPool(ARCHER_BASE, UnitType.ARCHER, 4, 4, 64));
+    }
+
+    // (Re)starts the level: fresh player, every spawn back to full, enemies streamed in around the start.
+    // Only the first start on a map builds that; later ones restore it from a snapshot, in place.
+    public void reset() {
+        resetCount++;
+        tick = 0; // ticks since the level (re)started; a quick load leaves it running
+        if (levelStart != null) {
+            levelStart.restore(this);
+            return;
+        }
+
+        state = GameState.PLAYING;
+        rng = new SimRandom(seed);
+        releaseEnemies();
+        projectiles.clear();
+        initSpawns(spawnTableFor(map));
+
+        SpawnPoint start = spawns.getPlayerSpawn();
+        player = start != null
+                ? new Player(start.x, start.y, start.spriteBase != null ? start.spriteBase : PLAYER_BASE)
+                : new Player(map.getPixelWidth() / 2f, map.getPixelHeight() / 2f, PLAYER_BASE);
+        camera.centerOn(player.x, player.y);
+
+        rebuildRenderQueue();
+        streamSpawns();
+
+        levelStart = new WorldSnapshot();
+        levelStart.capture(this);
+    }
+
+    // The map's spawn layer, or the original hand-placed level for maps that have none
+    private static SpawnTable spawnTableFor(TiledMap map) {
+        SpawnTable table = map.getSpawnTable();
+        if (!table.isEmpty()) return table;
+
+        List<SpawnPoint> points = new ArrayList<>();
+        points.add(tileSpawn(SpawnPoint.PLAYER, null, 5, 5, 1));
+        points.add(tileSpawn(SpawnPoint.ENEMY, "warrior", 8, 7, 1));
+        points.add(tileSpawn(SpawnPoint.ENEMY, "warrior", 11, 4, 1));
+        points.add(tileSpawn(SpawnPoint.ENEMY, "warrior", 12, 10, 1));
+        points.add(tileSpawn(SpawnPoint.ENEMY, "warrior", 15, 7, 2));
+        points.add(tileSpawn(SpawnPoint.ENEMY, "warrior", 20, 5, 1));
+        points.add(tileSpawn(SpawnPoint.ENEMY, "archer", 18, 10, 1));
+        return new SpawnTable(points, map.getPixelWidth(), map.getPixelHeight());
+    }
+
+    private static SpawnPoint tileSpawn(String type, String unit, int tileX, int tileY, int count) {
+        return new SpawnPoint(type, type, unit, null, count, tileX * TILE + TILE / 2f, tileY * TILE + TILE / 2f);
+    }
+
+    private void initSpawns(SpawnTable table) {
+        spawns = table;
+        spawnAlive = new int[table.size()];
+        spawnLive = new int[table.size()];
+        spawnHits = new int[table.size()];
+        aliveTotal = 0;
+        for (int i = 0; i < table.size(); i++) {
+            spawnAlive[i] = table.get(i).count;
+            aliveTotal += spawnAlive[i];
+        }
+    }
+
+    // Instantiates the missing enemies of every spawn near the view and releases live ones that wandered
+    // (or were left) far outside it. Walks spawns in map order, so the enemy list stays deterministic.
+    private void streamSpawns() {
+        float x0 = camera.x, y0 = camera.y;
+        float x1 = x0 + viewW, y1 = y0 + viewH;
+
+        Iterator<EnemyWarrior> it = enemies.iterator();
+        while (it.hasNext()) {
+            EnemyWarrior e = it.next();
+            if (e.isDead()) continue; // let the fade finish, it counts as killed once removed
+            if (e.x >= x0 - DESPAWN_RADIUS && e.x < x1 + DESPAWN_RADIUS
+                    && e.y >= y0 - DESPAWN_RADIUS && e.y < y1 + DESPAWN_RADIUS) continue;
+
+            it.remove();
+            renderQueue.remove(e);
+            spawnLive[e.getSpawnId()]--;
+            poolOf(e).release(e);
+        }
+
+        int n = spawns.query(x0 - SPAWN_RADIUS, y0 - SPAWN_RADIUS, x1 + SPAWN_RADIUS, y1 + SPAWN_RADIUS, spawnHits);
+        for (int i = 0; i < n; i++) {
+            int id = spawnHits[i];
+            SpawnPoint p = spawns.get(id);
+            while (spawnLive[id] < spawnAlive[id]) {
+                EnemyWarrior e = poolFor(p).acquire(p.x, p.y);
+                e.setSpawnId(id);
+                aiScheduler.assignPhase(e);
+                enemies.add(e);
+                renderQueue.add(e);
+                spawnLive[id]++;
+            }
+        }
+    }
+
+    // --- Snapshots (see WorldSnapshot) ---
+
+    void writeState(ByteBuffer b) {
+        b.putInt(WorldSnapshot.MAGIC).putInt(WorldSnapshot.VERSION);
+        b.putInt(map.getPixelWidth()).putInt(map.getPixelHeight()).putInt(spawns.size());
+
+        b.put((byte) state.ordinal());
+        b.putLong(rng.getState());
+        b.putFloat(camera.x).putFloat(camera.y);
+        b.putLong(aiScheduler.getTick()).putInt(aiScheduler.getNextPhase());
+
+        b.putInt(aliveTotal);
+        for (int alive : spawnAlive) b.putInt(alive);
+
+        player.writeState(b);
+        b.putInt(enemies.size());
+        for (EnemyWarrior e : enemies) {
+            b.putInt(e.getSpawnId());
+            e.writeState(b);
+        }
+        projectiles.writeState(b);
+    }
+
+    void readState(ByteBuffer b) {
+        // WorldSnapshot has checked length and CRC; what's left to check is that it belongs to this world
+        if (b.getInt() != WorldSnapshot.MAGIC || b.getInt() != WorldSnapshot.VERSION) {
+            throw new IllegalArgumentException("Not a world snapshot (or an older format)");
+        }
+        if (b.getInt() != map.getPixelWidth() || b.getInt() != map.getPixelHeight() || b.getInt() != spawns.size()) {
+            throw new IllegalArgumentException("Snapshot was taken on another map");
+        }
+
+        state = STATES[b.get()];
+        rng.setState(b.getLong());
+        camera.x = b.getFloat();
+        camera.y = b.getFloat();
+        aiScheduler.restore(b.getLong(), b.getInt());
+
+        aliveTotal = b.getInt();
+        for (int i = 0; i < spawnAlive.length; i++) {
+            spawnAlive[i] = b.getInt();
+            spawnLive[i] = 0;
+        }
+
+        player.readState(b);
+
+        // Live enemies are overwritten in place; only the difference in count goes through the pools
+        int n = b.getInt();
+        for (int i = 0; i < n; i++) {
+            int id = b.getInt();
+            SpawnPoint p = spawns.get(id);
+            EnemyWarrior e = i < enemies.size() ? enemies.get(i) : null;
+            if (e == null || e.getUnit() != unitFor(p) || !e.getSpriteBasePath().equals(baseFor(p))) {
+                EnemyWarrior fresh = poolFor(p).acquire(0f, 0f);
+                if (e == null) {
+                    enemies.add(fresh);
+                } else {
+                    poolOf(e).release(e);
+                    enemies.set(i, fresh);
+                }
+                e = fresh;
+            }
+            e.setSpawnId(id);
+            e.readState(b);
+            spawnLive[id]++;
+        }
+        while (enemies.size() > n) {
+            EnemyWarrior e = enemies.remove(enemies.size() - 1);
+            poolOf(e).release(e);
+        }
+        projectiles.readState(b);
+
+        rebuildRenderQueue();
+        checksum = computeChecksum();
+    }
+
+    private static UnitType unitFor(SpawnPoint p) {
+        return UnitType.byName(p.unit);
+    }
+
+    // Sprite folder of a spawn's enemies
+    private static String baseFor(SpawnPoint p) {
+        if (p.spriteBase != null) return p.spriteBase;
+        return unitFor(p).ranged() ? ARCHER_BASE : ENEMY_BASE;
+    }
+
+    private EnemyPool poolFor(SpawnPoint p) {
+        UnitType unit = unitFor(p);
+        String base = baseFor(p);
+        Map<String, EnemyPool> byBase = enemyPools.get(unit);
+        EnemyPool pool = byBase != null ? byBase.get(base) : null;
+        if (pool != null) return pool;
+        // Other bases are rare: no pre-allocation, same growth policy
+        pool = new EnemyPool(base, unit, 0, 4, 64);
+        addPool(unit, base, pool);
+        return pool;
+    }
+
+    private void addPool(UnitType unit, String base, EnemyPool pool) {
+        enemyPools.computeIfAbsent(unit, u -> new HashMap<>()).put(base, pool);
+    }
+
+    // Release side: the pool that built the enemy
+    private EnemyPool poolOf(EnemyWarrior e) {
+        Map<String, EnemyPool> byBase = enemyPools.get(e.getUnit());
+        EnemyPool pool = byBase != null ? byBase.get(e.getSpriteBasePath()) : null;
+        if (pool == null) {
+            throw new IllegalStateException("No " + e.getUnit().name() + " pool for " + e.getSpriteBasePath());
+        }
+        return pool;
+    }
+
+    private void releaseEnemies() {
+        for (EnemyWarrior e : enemies) poolOf(e).release(e);
+        enemies.clear();
+    }
+
+    private void rebuildRenderQueue() {
+        renderQueue.clear();
+        // Indexed: also runs on every snapshot restore, which must not allocate
+        for (int i = 0; i < map.props.size(); i++) renderQueue.add(map.props.get(i));
+        for (int i = 0; i < enemies.size(); i++) renderQueue.add(enemies.get(i));
+        renderQueue.add(player);
+    }
+
+    // One fixed tick. `input` is the tick's Input.* bitmask.
+    public void update(int input, double dt) {
+        tick++;
+        step(input, dt);
+        checksum = computeChecksum();
+    }
+
+    private void step(int input, double dt) {
+        if (state == GameState.WIN || state == GameState.GAME_OVER) {
+            if ((input & Input.RESTART) != 0) reset();
+            return;
+        }
+
+        // Movement (WASD / Arrow keys)
+        float dx = 0, dy = 0;
+        boolean guarding = (input & Input.GUARD) != 0;
+
+        if (!guarding) {
+            if ((input & Input.UP) != 0) dy -= (float) (PLAYER_SPEED * dt);
+            if ((input & Input.DOWN) != 0) dy += (float) (PLAYER_SPEED * dt);
+            if ((input & Input.LEFT) != 0) dx -= (float) (PLAYER_SPEED * dt);
+            if ((input & Input.RIGHT) != 0) dx += (float) (PLAYER_SPEED * dt);
+        }
+
+        player.tick(dt);
+
+        player.move(map, dx, dy);
+
+        camera.centerOn(player.x, player.y);
+        streamSpawns();
+
+        player.update(dx, dy, (input & Input.ATTACK) != 0, guarding);
+
+        if (player.isDead()) {
+            state = GameState.GAME_OVER;
+        }
+
+        // Arrows already in flight move first, so a fresh one starts from the bow on its first frame
+        projectiles.update(map, dt);
+
+        // 1. AI for every enemy (at its LOD rate), drop the ones that finished fading
+        aiScheduler.beginTick();
+        Iterator<EnemyWarrior> it = enemies.iterator();
+
+        while (it.hasNext()) {
+            EnemyWarrior e = it.next();
+
+            // Update AI unless fully removed
+            if (!e.isRemoved()) aiScheduler.update(e, map, player, camera, dt);
+            if (e.takeShot()) fireArrow(e);
+
+            // Clean up after the fade
+            if (e.isRemoved()) {
+                it.remove();
+                renderQueue.remove(e);
+                spawnAlive[e.getSpawnId()]--;
+                spawnLive[e.getSpawnId()]--;
+                aliveTotal--;
+                poolOf(e).release(e);
+            }
+        }
+
+        // 2. Broadphase: rebuild the grids from this tick's boxes
+        rebuildBroadphase();
+
+        // 3. Combat, only against candidates from the grids
+        resolveCombat();
+
+        // 4. Keep enemies from stacking on the same spot
+        separateEnemies();
+
+        // Every spawn cleared, streamed in or not
+        if (aliveTotal == 0) {
+            state = GameState.WIN;
+            return;
+        }
+
+        if (player.isDead()) {
+            state = GameState.GAME_OVER;
+        }
+    }
+
+    // Hash of the state after the tick: serial, parallel and replayed runs must produce the same sequence
+    private long computeChecksum() {
+        long h = Checksum.START;
+        h = Checksum.mix(h, (int) tick);
+        h = Checksum.mix(h, state.ordinal());
+        // Same fields as writeState: a desync shows up on the tick it happens, not ticks later
+        h = Checksum.mix(h, rng.getState());
+        h = Checksum.mix(h, camera.x);
+        h = Checksum.mix(h, camera.y);
+        h = Checksum.mix(h, aiScheduler.getTick());
+        h = Checksum.mix(h, aiScheduler.getNextPhase());
+        h = Checksum.mix(h, aliveTotal);
+        for (int alive : spawnAlive) h = Checksum.mix(h, alive);
+        h = player.hashState(h);
+        h = Checksum.mix(h, enemies.size());
+        for (int i = 0; i < enemies.size(); i++) {
+            EnemyWarrior e = enemies.get(i);
+            h = Checksum.mix(h, e.getSpawnId());
+            h = e.hashState(h);
+        }
+        return projectiles.hashState(h);
+    }
+
+    // From the archer's feet toward the player's (both colliders are feet-anchored the same way)
+    private void fireArrow(EnemyWarrior e) {
+        float dx = player.x - e.x, dy = player.y - e.y;
+        float len = (float) Math.sqrt(dx * dx + dy * dy);
+        if (len < 0.0001f) return;
+        float ox = e.x, oy = e.getColY() + e.getColH() / 2f;
+        projectiles.spawn(ox, oy, dx / len * ARROW_SPEED, dy / len * ARROW_SPEED, ARROW_TTL);
+    }
+
+    private void createBroadphase() {
+        hurtboxGrid = new SpatialGrid<>(map.getPixelWidth(), map.getPixelHeight(), BROADPHASE_CELL);
+        hitboxGrid = new SpatialGrid<>(map.getPixelWidth(), map.getPixelHeight(), BROADPHASE_CELL);
+        projectiles = new Projectiles(PROJECTILE_CAPACITY, map.getPixelWidth(), map.getPixelHeight());
+    }
+
+    private void rebuildBroadphase() {
+        hurtboxGrid.clear();
+        hitboxGrid.clear();
+
+        for (EnemyWarrior e : enemies) {
+            // Sleepers are far from the player by definition, nothing to collide with
+            if (e.isDead() || e.isSleeping()) continue;
+            hurtboxGrid.insert(e, e.getHurtbox());
+
+            Rect ehb = e.getAttackHitbox();
+            if (ehb != null) hitboxGrid.insert(e, ehb);
+        }
+    }
+
+    private void resolveCombat() {
+        Rect phb = player.getHurtbox();
+
+        if (!player.isDead()) {
+            // Enemy hits and player blocks
+            candidates.clear();
+            hitboxGrid.query(phb, candidates);
+            for (EnemyWarrior e : candidates) {
+                if (player.isGuarding()) {
+                    // Block: no damage but push player back
+                    player.applyKnockbackFrom(e.x, e.y, 240f, 8);
+
+                    // stop enemy from "grinding" on the guard
+                    e.cancelAttackAndStartCooldown(aiScheduler.getTuning());
+                } else {
+                    // Not guarding: take damage
+                    player.takeHit(10);
+                }
+            }
+
+            // Body contact
+            candidates.clear();
+            hurtboxGrid.query(phb, candidates);
+            if (!candidates.isEmpty()) player.takeHit(10);
+
+            // Arrows stop on the player either way; the guard (in takeHit) blocks the damage
+            if (projectiles.hit(phb) > 0) player.takeHit(ARROW_DAMAGE);
+        }
+
+        // Player hits enemies
+        if (player.isAttackActive()) {
+            Rect hitbox = player.getAttackHitbox();
+            if (hitbox != null) {
+                candidates.clear();
+                hurtboxGrid.query(hitbox, candidates);
+                for (EnemyWarrior e : candidates) {
+                    e.takeHit(10, player.getAttackId(), player.x, player.y);
+                }
+            }
+        }
+    }
+
+    // Pushes overlapping live enemies apart (half the overlap each), through move() so colliders still hold
+    private void separateEnemies() {
+        for (EnemyWarrior a : enemies) {
+            if (a.isDead() || a.isSleeping()) continue;
+
+            Rect ab = a.getHurtbox();
+            candidates.clear();
+            hurtboxGrid.query(ab.x - SEPARATION_DIST / 2, ab.y - SEPARATION_DIST / 2,
+                    ab.w + SEPARATION_DIST, ab.h + SEPARATION_DIST, candidates);
+
+            for (EnemyWarrior b : candidates) {
+                if (b == a || b.isDead()) continue;
+
+                float vx = a.x - b.x;
+                float vy = a.y - b.y;
+                float distSq = vx * vx + vy * vy;
+                if (distSq >= SEPARATION_DIST * SEPARATION_DIST) continue;
+
+                float dist = (float) Math.sqrt(distSq);
+                if (dist < 0.0001f) {
+                    // Exactly stacked: the first one processed steps right, the other then sees it and steps left
+                    vx = 1f;
+                    vy = 0f;
+                    dist = 1f;
+                }
+
+                // Each side of the pair sees the other, so each moves by half the overlap
+                float push = (SEPARATION_DIST - dist) * 0.5f * SEPARATION_STRENGTH;
+                a.move(map, vx / dist * push, vy / dist * push);
+            }
+        }
+    }
+
+    // --- Hot reload (dev mode), called between ticks ---
+
+    public void swapMap(TiledMap fresh) {
+        map = fresh;
+        // World bounds may have changed, keep the view where it was
+        camera = new Camera(camera.x, camera.y, viewW, viewH, fresh.getPixelWidth(), fresh.getPixelHeight());
+        camera.clamp();
+        createBroadphase();
+        levelStart = null; // the next restart builds the level from the new map
+
+        // Same spawn layout: keep who's been killed. Otherwise start the spawns over.
+        SpawnTable table = spawnTableFor(fresh);
+        if (table.size() != spawns.size()) {
+            releaseEnemies();
+            initSpawns(table);
+        } else {
+            spawns = table;
+        }
+        rebuildRenderQueue();
+        streamSpawns();
+    }
+
+    // Entities (live or pooled) only hold clip ids, so swapping the clips (and the arrow frames) is enough
+    public void reloadAnimations(String sheetPath) {
+        AnimationClips.reload(sheetPath);
+        Projectiles.reload(sheetPath);
+    }
+
+    // --- Accessors ---
+
+    public TiledMap getMap() {
+        return map;
+    }
+
+    public Camera getCamera() {
+        return camera;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public List<EnemyWarrior> getEnemies() {
+        return enemies;
+    }
+
+    public GameState getState() {
+        return state;
+    }
+
+    public RenderQueue getRenderQueue() {
+        return renderQueue;
+    }
+
+    public Projectiles getProjectiles() {
+        return projectiles;
+    }
+
+    public EnemyPool getEnemyPool() {
+        return enemyPool;
+    }
+
+    public SpawnTable getSpawnTable() {
+        return spawns;
+    }
+
+    // Enemies not killed yet, instantiated or still dormant at their spawns
+    public int getAliveCount() {
+        return aliveTotal;
+    }
+
+    public AiScheduler getAiScheduler() {
+        return aiScheduler;
+    }
+
+    public Random getRng() {
+        return rng;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getChecksum() {
+        return checksum;
+    }
+
+    public long getTick() {
+        return tick;
+    }
+
+    public int getResetCount() {
+        return resetCount;
+    }
+}
@@ -0,0 +1,263 @@
+package main.java.game;
+
+import main.java.game.entity.EnemyTuning;
+import main.java.game.entity.EnemyWarrior;
+import main.java.game.entity.Player;
+import main.java.game.input.Input;
+import main.java.game.map.TiledMap;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+// N independent headless worlds for bots / training runs, stepped together ("gym style").
+// They share the read-only map and the clip registry; each has its own entities, pools and scheduler.
+// step() takes one Input mask per world, spreads the worlds over worker threads in contiguous slices
+// (the caller steps slice 0) and fills flat observation / reward / done arrays.
+// A world that ended (win, game over or maxEpisodeTicks) is restarted at its next step, from the
+// level-start snapshot, so the terminal observation is still visible for one step.
+// Each world may get its own EnemyTuning (aggro range, stop range, attack cooldown) for parameter sweeps.
+// Worlds never interact, so the results are identical whatever the thread count.
+public final class WorldBatch implements AutoCloseable {
+
+    // Observation per world: player (x, y map-normalized, hp, guarding, attacking, share of enemies left)
+    // then the NEAREST closest live enemies, each (present, dx, dy view-normalized, hp, attacking), nearest first
+    public static final int NEAREST = 4;
+    private static final int PLAYER_OBS = 6;
+    private static final int ENEMY_OBS = 5;
+    public static final int OBS_SIZE = PLAYER_OBS + NEAREST * ENEMY_OBS;
+
+    // Reward shaping
+    private static final float KILL_REWARD = 1f;
+    private static final float HURT_PENALTY = 1f;  // per full player HP lost
+    private static final float WIN_REWARD = 10f;
+    private static final float DEATH_PENALTY = 10f;
+
+    private static final double DT = 1.0 / 60.0;
+
+    private final World[] worlds;
+    private final float[] obs;
+    private final float[] rewards;
+    private final boolean[] done;
+    private final float[] lastHp;
+    private final int[] lastAlive;
+    private final int[] episodeTicks;
+    private int maxEpisodeTicks = 0; // 0 = until win / game over
+
+    private final ExecutorService pool;
+    private final List<Callable<Void>> tasks = new ArrayList<>();
+    private final Slice first;
+    private volatile int[] actions;
+    private long worldTicks = 0;
+
+    public WorldBatch(TiledMap map, int size, long baseSeed, int threads) {
+        this(map, size, baseSeed, threads, i -> EnemyTuning.DEFAULT);
+    }
+
+    // tuning.apply(i) is world i's enemy tuning, fixed for the batch's life
+    public WorldBatch(TiledMap map, int size, long baseSeed, int threads, IntFunction<EnemyTuning> tuning) {
+        worlds = new World[size];
+        for (int i = 0; i < size; i++) {
+            worlds[i] = new World(map, Game.VIRTUAL_WIDTH, Game.VIRTUAL_HEIGHT, baseSeed + i, tuning.apply(i));
+        }
+        obs = new float[size * OBS_SIZE];
+        rewards = new float[size];
+        done = new boolean[size];
+        lastHp = new float[size];
+        lastAlive = new int[size];
+        episodeTicks = new int[size];
+
+        int n = Math.max(1, Math.min(threads, size));
+        first = new Slice(0, size / n);
+        pool = n == 1 ? null : Executors.newFixedThreadPool(n - 1, runnable -> {
+            Thread t = new Thread(runnable, "world-batch");
+            t.setDaemon(true);
+            return t;
+        });
+        for (int i = 1; i < n; i++) {
+            Slice slice = new Slice(size * i / n, size * (i + 1) / n);
+            tasks.add(() -> {
+                slice.step(actions);
+                return null;
+            });
+        }
+        reset();
+    }
+
+    // Restarts every world and fills the observations; rewards and done flags are cleared
+    public void reset() {
+        for (int i = 0; i < worlds.length; i++) {
+            restart(i);
+            rewards[i] = 0f;
+            done[i] = false;
+            observe(i, first.nearDist, first.nearIdx);
+        }
+    }
+
+    // One tick of every world; actions[i] is world i's Input mask
+    // (RESTART is ignored: ended worlds restart on their own)
+    public void step(int[] actions) {
+        if (actions.length < worlds.length) throw new IllegalArgumentException("Need one action per world");
+        this.actions = actions;
+        if (pool == null) {
+            first.step(actions);
+        } else {
+            List<Future<Void>> pending = new ArrayList<>(tasks.size());
+            for (Callable<Void> task : tasks) pending.add(pool.submit(task));
+            try {
+                first.step(actions);
+            } finally {
+                for (Future<Void> f : pending) await(f);
+            }
+        }
+        worldTicks += worlds.length;
+    }
+
+    private void restart(int i) {
+        World w = worlds[i];
+        w.reset();
+        lastHp[i] = w.getPlayer().getHpPercent();
+        lastAlive[i] = w.getAliveCount();
+        episodeTicks[i] = 0;
+    }
+
+    // A contiguous run of worlds with its own scratch, stepped by one thread
+    private final class Slice {
+        final int from, to;
+        final float[] nearDist = new float[NEAREST];
+        final int[] nearIdx = new int[NEAREST];
+
+        Slice(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        void step(int[] actions) {
+            for (int i = from; i < to; i++) {
+                if (done[i]) restart(i);
+
+                World w = worlds[i];
+                w.update(actions[i] & ~Input.RESTART, DT);
+                episodeTicks[i]++;
+
+                float hp = w.getPlayer().getHpPercent();
+                int alive = w.getAliveCount();
+                float r = KILL_REWARD * (lastAlive[i] - alive) - HURT_PENALTY * Math.max(0f, lastHp[i] - hp);
+                if (w.getState() == World.GameState.WIN) r += WIN_REWARD;
+                if (w.getState() == World.GameState.GAME_OVER) r -= DEATH_PENALTY;
+                lastHp[i] = hp;
+                lastAlive[i] = alive;
+
+                rewards[i] = r;
+                done[i] = w.getState() != World.GameState.PLAYING
+                        || (maxEpisodeTicks > 0 && episodeTicks[i] >= maxEpisodeTicks);
+                observe(i, nearDist, nearIdx);
+            }
+        }
+    }
+
+    private void observe(int i, float[] nearDist, int[] nearIdx) {
+        World w = worlds[i];
+        Player p = w.getPlayer();
+        TiledMap map = w.getMap();
+        int o = i * OBS_SIZE;
+
+        obs[o] = p.x / map.getPixelWidth();
+        obs[o + 1] = p.y / map.getPixelHeight();
+        obs[o + 2] = p.getHpPercent();
+        obs[o + 3] = p.isGuarding() ? 1f : 0f;
+        obs[o + 4] = p.isAttackActive() ? 1f : 0f;
+        int total = w.getSpawnTable().totalCount();
+        obs[o + 5] = total == 0 ? 0f : w.getAliveCount() / (float) total;
+
+        // Closest live enemies by insertion into a tiny sorted list (ties keep list order)
+        List<EnemyWarrior> enemies = w.getEnemies();
+        int found = 0;
+        for (int k = 0; k < enemies.size(); k++) {
+            EnemyWarrior e = enemies.get(k);
+            if (e.isDead()) continue;
+            float dx = e.x - p.x, dy = e.y - p.y;
+            float d = dx * dx + dy * dy;
+            if (found == NEAREST && d >= nearDist[NEAREST - 1]) continue;
+
+            int j = Math.min(found, NEAREST - 1);
+            while (j > 0 && nearDist[j - 1] > d) {
+                nearDist[j] = nearDist[j - 1];
+                nearIdx[j] = nearIdx[j - 1];
+                j--;
+            }
+            nearDist[j] = d;
+            nearIdx[j] = k;
+            if (found < NEAREST) found++;
+        }
+
+        for (int s = 0; s < NEAREST; s++) {
+            int b = o + PLAYER_OBS + s * ENEMY_OBS;
+            if (s >= found) {
+                for (int f = 0; f < ENEMY_OBS; f++) obs[b + f] = 0f;
+                continue;
+            }
+            EnemyWarrior e = enemies.get(nearIdx[s]);
+            obs[b] = 1f;
+            obs[b + 1] = (e.x - p.x) / Game.VIRTUAL_WIDTH;
+            obs[b + 2] = (e.y - p.y) / Game.VIRTUAL_HEIGHT;
+            obs[b + 3] = e.getHp() / (float) e.getMaxHp();
+            obs[b + 4] = e.isAttackActive() ? 1f : 0f;
+        }
+    }
+
+    private static void await(Future<Void> f) {
+        try {
+            f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while stepping worlds", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("World step failed", e.getCause());
+        }
+    }
+
+    // Flat arrays, rewritten by every step(): world i's observation is obs[i * OBS_SIZE .. (i + 1) * OBS_SIZE)
+    public float[] getObservations() {
+        return obs;
+    }
+
+    public float[] getRewards() {
+        return rewards;
+    }
+
+    public boolean[] getDone() {
+        return done;
+    }
+
+    public void setMaxEpisodeTicks(int ticks) {
+        maxEpisodeTicks = ticks;
+    }
+
+    public World getWorld(int i) {
+        return worlds[i];
+    }
+
+    public int size() {
+        return worlds.length;
+    }
+
+    public int getThreadCount() {
+        return tasks.size() + 1;
+    }
+
+    // World ticks stepped so far, over all worlds
+    public long getWorldTicks() {
+        return worldTicks;
+    }
+
+    @Override
+    public void close() {
+        if (pool != null) pool.shutdownNow();
+    }
+}
@@ -0,0 +1,99 @@
+package main.java.game;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+// The complete mutable simulation state of a World (player, enemies, arrows, spawns, AI scheduling, rng,
+// camera, game state) as one compact binary buffer. Capturing into the same snapshot reuses its buffer, and
+// restoring writes into the world's existing objects: no allocation and no asset I/O once warmed up.
+// The static side (map, clips, sprite sheets) is not included; a snapshot only restores into a world on
+// the same map. Not included either: the tick counter (zeroed by World.reset, left running by a restore)
+// and the reset count.
+// The state is followed by its length and CRC32, checked before restore() touches the world: a truncated
+// or corrupt file is rejected as a whole instead of leaving a half-restored world behind.
+public class WorldSnapshot {
+
+    static final int MAGIC = 0x57534E50; // "WSNP"
+    static final int VERSION = 3; // 2: arrows in flight, 3: length + CRC32 trailer
+    private static final int TRAILER = 4 + 8;
+
+    private ByteBuffer buffer = ByteBuffer.allocate(4096);
+    private int size = 0;
+    private final CRC32 crc = new CRC32();
+
+    public void capture(World world) {
+        while (true) {
+            buffer.clear();
+            try {
+                world.writeState(buffer);
+                int payload = buffer.position();
+                buffer.putInt(payload).putLong(crc(payload));
+                size = buffer.position();
+                return;
+            } catch (BufferOverflowException e) {
+                buffer = ByteBuffer.allocate(buffer.capacity() * 2);
+            }
+        }
+    }
+
+    public void restore(World world) {
+        if (size == 0) throw new IllegalStateException("Empty snapshot");
+        buffer.clear();
+        validate();
+        buffer.limit(size - TRAILER);
+        world.readState(buffer);
+    }
+
+    // Everything that can be checked without a world: format, length, checksum
+    private void validate() {
+        if (size < 8 + TRAILER || buffer.getInt(0) != MAGIC) throw new IllegalArgumentException("Not a world snapshot");
+        if (buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Snapshot format " + buffer.getInt(4) + ", expected " + VERSION);
+        }
+        int payload = buffer.getInt(size - TRAILER);
+        if (payload != size - TRAILER) throw new IllegalArgumentException("Snapshot truncated");
+        if (buffer.getLong(size - 8) != crc(payload)) throw new IllegalArgumentException("Snapshot corrupt");
+    }
+
+    private long crc(int length) {
+        crc.reset();
+        crc.update(buffer.array(), 0, length);
+        return crc.getValue();
+    }
+
+    // Quick save / load
+    public void save(Path file) {
+        try {
+            Files.write(file, Arrays.copyOf(buffer.array(), size));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write snapshot: " + file, e);
+        }
+    }
+
+    public static WorldSnapshot load(Path file) {
+        try {
+            byte[] bytes = Files.readAllBytes(file);
+            WorldSnapshot s = new WorldSnapshot();
+            s.buffer = ByteBuffer.wrap(bytes);
+            s.size = bytes.length;
+            s.validate(); // a bad file fails here, before anyone restores it
+            return s;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read snapshot: " + file, e);
+        }
+    }
+
+    // Same bytes: two captures of the same simulation state
+    public boolean contentEquals(WorldSnapshot other) {
+        return Arrays.equals(buffer.array(), 0, size, other.buffer.array(), 0, other.size);
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,95 @@
+package main.java.game.bench;
+
+import main.java.game.gfx.BandRenderer;
+import main.java.game.gfx.Raster;
+import main.java.game.gfx.RenderBatch;
+import main.java.game.gfx.SpriteCache;
+import main.java.game.gfx.SpritePixels;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Random;
+
+// Banded raster rendering of a 1280x720 frame (two tile layers + 1000 warriors, some fading, HP bars)
+// with 1..N bands; reports ms/frame and checks every band count produces the 1-band pixels exactly.
+// Args: [maxBands] (default: available processors, at least 4). Run with -Djava.awt.headless=true.
+public class BandBench {
+
+    private static final String SHEET = "/main/resources/sprites/player/Red_Units/Warrior/Warrior_Idle.png";
+    private static final int W = 1280, H = 720, TILE = 64;
+    private static final int SPRITES = 1000;
+    private static final int FRAMES = 60;
+
+    public static void main(String[] args) {
+        int maxBands = args.length > 0 ? Integer.parseInt(args[0]) : Math.max(4, Runtime.getRuntime().availableProcessors());
+
+        Random rnd = new Random(42);
+        SpritePixels ground = SpritePixels.of(solidTile(rnd, false));
+        SpritePixels decal = SpritePixels.of(solidTile(rnd, true));
+        BufferedImage[] frames = SpriteCache.frames(SHEET, 8);
+        BufferedImage[] mirrored = SpriteCache.mirroredFrames(SHEET, 8);
+
+        // Sorted by y, like the RenderQueue hands them over
+        int[][] pos = new int[SPRITES][];
+        for (int i = 0; i < SPRITES; i++) pos[i] = new int[]{rnd.nextInt(W + 192) - 192, rnd.nextInt(H + 192) - 192};
+        Arrays.sort(pos, (a, b) -> Integer.compare(a[1], b[1]));
+
+        BufferedImage target = new BufferedImage(W, H, BufferedImage.TYPE_INT_ARGB);
+        int[] reference = null;
+        double oneBand = 0;
+
+        for (int n = 1; n <= maxBands; n++) {
+            RenderBatch batch = new RenderBatch();
+            batch.setRasterMode(true);
+
+            try (BandRenderer bands = new BandRenderer(target, n)) {
+                long best = Long.MAX_VALUE;
+                for (int round = 0; round < 3; round++) { // best of 3, the first one warms the JIT up
+                    long t0 = System.nanoTime();
+                    for (int f = 0; f < FRAMES; f++) {
+                        for (int i = 0; i < SPRITES; i++) {
+                            BufferedImage img = ((i & 1) == 0 ? frames : mirrored)[(f + i) % frames.length];
+                            if (i % 10 == 0) batch.sprite(img, pos[i][0], pos[i][1], 0.5f);
+                            else batch.sprite(img, pos[i][0], pos[i][1]);
+                            batch.hpBar(pos[i][0] + 75, pos[i][1] + 40, 42, 6, (i % 7) / 6f);
+                        }
+                        batch.bucketBands(bands.getBandCount(), H);
+                        bands.render((r, band) -> paint(r, band, batch, ground, decal));
+                        batch.begin();
+                    }
+                    best = Math.min(best, System.nanoTime() - t0);
+                }
+
+                int[] px = target.getRGB(0, 0, W, H, null, 0, W);
+                if (reference == null) reference = px;
+                double ms = best / 1e6 / FRAMES;
+                if (n == 1) oneBand = ms;
+                System.out.printf("%d band(s): %6.2f ms/frame (x%.2f)%s%n", bands.getBandCount(), ms, oneBand / ms,
+                        Arrays.equals(reference, px) ? "" : "  PIXELS DIFFER FROM 1 BAND");
+            }
+        }
+    }
+
+    private static void paint(Raster r, int band, RenderBatch batch, SpritePixels ground, SpritePixels decal) {
+        r.clear(0xFF181A1D);
+        for (int y = 0; y < H; y += TILE) {
+            for (int x = 0; x < W; x += TILE) {
+                ground.blit(r, x, y);
+                if (((x ^ y) & TILE) != 0) decal.blit(r, x, y);
+            }
+        }
+        batch.replay(r, band);
+    }
+
+    // Random opaque tile, or a half-transparent overlay one
+    private static BufferedImage solidTile(Random rnd, boolean overlay) {
+        BufferedImage tile = new BufferedImage(TILE, TILE, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < TILE; y++) {
+            for (int x = 0; x < TILE; x++) {
+                int alpha = overlay ? ((x + y) % 3 == 0 ? 0 : 128) : 255;
+                tile.setRGB(x, y, (alpha << 24) | rnd.nextInt(0x1000000));
+            }
+        }
+        return tile;
+    }
+}
@@ -0,0 +1,81 @@
+package main.java.game.bench;
+
+import main.java.game.Checksum;
+import main.java.game.WorldBatch;
+import main.java.game.input.Input;
+import main.java.game.map.TiledLoader;
+import main.java.game.map.TiledMap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Steps a WorldBatch of N worlds driven by a seeded random policy with 1..maxThreads threads and reports
+// aggregate world-ticks/s. Every thread count must produce the same fingerprint (world checksums, rewards
+// and done flags folded over all ticks). Episodes are capped at 3600 ticks.
+// Args: [worlds] [ticks] [maxThreads] [map resource]. Run with -Djava.awt.headless=true.
+public class BatchBench {
+
+    private static final int[] MOVES = {0, Input.UP, Input.DOWN, Input.LEFT, Input.RIGHT,
+            Input.UP | Input.RIGHT, Input.DOWN | Input.LEFT};
+
+    public static void main(String[] args) {
+        // Before EnemyWarrior is loaded: thousands of worlds hitting things would only measure the console
+        if (System.getProperty("game.hitLog") == null) System.setProperty("game.hitLog", "false");
+
+        int worlds = args.length > 0 ? Integer.parseInt(args[0]) : 256;
+        int ticks = args.length > 1 ? Integer.parseInt(args[1]) : 600;
+        int maxThreads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        String mapPath = args.length > 3 ? args[3] : "/main/resources/maps/demo.json";
+
+        TiledMap map = TiledLoader.loadJsonMap(mapPath);
+        int[] actions = new int[worlds];
+        Long reference = null;
+
+        // 1, 2, 4, .. and maxThreads itself
+        List<Integer> counts = new ArrayList<>();
+        for (int t = 1; t < maxThreads; t *= 2) counts.add(t);
+        counts.add(Math.max(1, maxThreads));
+
+        for (int threads : counts) {
+            try (WorldBatch batch = new WorldBatch(map, worlds, 1000L, threads)) {
+                batch.setMaxEpisodeTicks(3600);
+                runPolicy(batch, actions, ticks / 5); // JIT warm-up, not measured
+                batch.reset();
+
+                long t0 = System.nanoTime();
+                long fingerprint = runPolicy(batch, actions, ticks);
+                double secs = (System.nanoTime() - t0) / 1e9;
+
+                if (reference == null) reference = fingerprint;
+                System.out.printf("%2d thread(s): %d worlds x %d ticks in %.2f s = %,.0f world-ticks/s%s%n",
+                        batch.getThreadCount(), worlds, ticks, secs, (double) worlds * ticks / secs,
+                        fingerprint == reference ? "" : "  RESULTS DIFFER FROM 1 THREAD");
+            }
+        }
+    }
+
+    // Random walk with frequent attacks; the action only depends on (world, tick)
+    private static long runPolicy(WorldBatch batch, int[] actions, int ticks) {
+        long h = Checksum.START;
+        for (int t = 0; t < ticks; t++) {
+            for (int i = 0; i < actions.length; i++) {
+                int r = hash(i, t / 20); // hold a direction for 20 ticks
+                actions[i] = MOVES[(r & 0x7FFFFFFF) % MOVES.length] | ((hash(i, t) & 3) == 0 ? Input.ATTACK : 0);
+            }
+            batch.step(actions);
+            for (int i = 0; i < actions.length; i++) {
+                h = Checksum.mix(h, batch.getWorld(i).getChecksum());
+                h = Checksum.mix(h, batch.getRewards()[i]);
+                h = Checksum.mix(h, batch.getDone()[i]);
+            }
+        }
+        return h;
+    }
+
+    private static int hash(int a, int b) {
+        int x = a * 0x9E3779B1 + b * 0x85EBCA77;
+        x ^= x >>> 15;
+        x *= 0x2C1B3C6D;
+        return x ^ (x >>> 13);
+    }
+}
@@ -0,0 +1,122 @@
+package main.java.game.bench;
+
+import main.java.game.gfx.Raster;
+import main.java.game.gfx.SpriteCache;
+import main.java.game.gfx.SpritePixels;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+// Graphics2D.drawImage vs the Raster int[] blitter into a 1280x720 INT_ARGB backbuffer:
+// a full screen of opaque 64x64 tiles, 1000 alpha-keyed warriors, the same mirrored, and at 50% alpha.
+// Also reports the largest channel difference between the two outputs per case.
+// Run with -Djava.awt.headless=true.
+public class BlitBench {
+
+    private static final String SHEET = "/main/resources/sprites/player/Red_Units/Warrior/Warrior_Idle.png";
+    private static final int W = 1280, H = 720, TILE = 64;
+    private static final int SPRITES = 1000;
+    private static final int FRAMES = 60;
+
+    public static void main(String[] args) {
+        BufferedImage gBuf = new BufferedImage(W, H, BufferedImage.TYPE_INT_ARGB);
+        BufferedImage rBuf = new BufferedImage(W, H, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = gBuf.createGraphics();
+        Raster r = new Raster(rBuf);
+
+        Random rnd = new Random(42);
+        BufferedImage tile = new BufferedImage(TILE, TILE, BufferedImage.TYPE_INT_ARGB);
+        for (int y = 0; y < TILE; y++) {
+            for (int x = 0; x < TILE; x++) tile.setRGB(x, y, 0xFF000000 | rnd.nextInt(0x1000000));
+        }
+        SpritePixels tilePx = SpritePixels.of(tile);
+
+        BufferedImage[] frames = SpriteCache.frames(SHEET, 8);
+        BufferedImage[] mirrored = SpriteCache.mirroredFrames(SHEET, 8);
+        SpritePixels[] framePx = new SpritePixels[frames.length];
+        SpritePixels[] mirroredPx = new SpritePixels[frames.length];
+        for (int i = 0; i < frames.length; i++) {
+            framePx[i] = SpritePixels.of(frames[i]);
+            mirroredPx[i] = SpritePixels.of(mirrored[i]);
+        }
+
+        int[] xs = new int[SPRITES];
+        int[] ys = new int[SPRITES];
+        for (int i = 0; i < SPRITES; i++) {
+            xs[i] = rnd.nextInt(W + 192) - 192; // some partly off screen: exercises clipping
+            ys[i] = rnd.nextInt(H + 192) - 192;
+        }
+
+        AlphaComposite half = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.5f);
+        Composite normal = g.getComposite();
+
+        for (int round = 0; round < 3; round++) { // first rounds are JIT warm-up
+            System.out.printf("round %d%n", round);
+
+            // Tiles
+            long t0 = System.nanoTime();
+            for (int f = 0; f < FRAMES; f++) {
+                for (int y = 0; y < H; y += TILE) {
+                    for (int x = 0; x < W; x += TILE) g.drawImage(tile, x, y, null);
+                }
+            }
+            long t1 = System.nanoTime();
+            for (int f = 0; f < FRAMES; f++) {
+                for (int y = 0; y < H; y += TILE) {
+                    for (int x = 0; x < W; x += TILE) tilePx.blit(r, x, y);
+                }
+            }
+            long t2 = System.nanoTime();
+            report("opaque tiles", t0, t1, t2, gBuf, rBuf);
+
+            // Sprites, plain / mirrored / faded; each case starts from the same tiled background
+            for (int mode = 0; mode < 3; mode++) {
+                clear(g, r);
+                t0 = System.nanoTime();
+                if (mode == 2) g.setComposite(half);
+                for (int f = 0; f < FRAMES; f++) {
+                    BufferedImage frame = (mode == 1 ? mirrored : frames)[f % frames.length];
+                    for (int i = 0; i < SPRITES; i++) g.drawImage(frame, xs[i], ys[i], null);
+                }
+                g.setComposite(normal);
+                t1 = System.nanoTime();
+                for (int f = 0; f < FRAMES; f++) {
+                    SpritePixels px = (mode == 1 ? mirroredPx : framePx)[f % frames.length];
+                    for (int i = 0; i < SPRITES; i++) {
+                        if (mode == 2) px.blit(r, xs[i], ys[i], 128);
+                        else px.blit(r, xs[i], ys[i]);
+                    }
+                }
+                t2 = System.nanoTime();
+                report(mode == 0 ? "keyed sprites" : mode == 1 ? "mirrored sprites" : "50% alpha sprites",
+                        t0, t1, t2, gBuf, rBuf);
+            }
+        }
+        g.dispose();
+    }
+
+    private static void clear(Graphics2D g, Raster r) {
+        g.setColor(new Color(24, 26, 29));
+        g.fillRect(0, 0, W, H);
+        r.clear(new Color(24, 26, 29).getRGB());
+    }
+
+    private static void report(String what, long t0, long t1, long t2, BufferedImage a, BufferedImage b) {
+        System.out.printf("  %-18s Graphics2D %6.2f ms/frame, Raster %6.2f ms/frame (x%.1f), max channel diff %d%n",
+                what, (t1 - t0) / 1e6 / FRAMES, (t2 - t1) / 1e6 / FRAMES, (t1 - t0) / (double) (t2 - t1), maxDiff(a, b));
+    }
+
+    private static int maxDiff(BufferedImage a, BufferedImage b) {
+        int max = 0;
+        for (int y = 0; y < H; y++) {
+            for (int x = 0; x < W; x++) {
+                int p = a.getRGB(x, y), q = b.getRGB(x, y);
+                for (int s = 0; s < 32; s += 8) {
+                    max = Math.max(max, Math.abs(((p >>> s) & 0xFF) - ((q >>> s) & 0xFF)));
+                }
+            }
+        }
+        return max;
+    }
+}
@@ -0,0 +1,68 @@
+package main.java.game.bench;
+
+import main.java.game.entity.Projectiles;
+import main.java.game.map.TiledLoader;
+import main.java.game.map.TiledMap;
+import main.java.game.physics.Rect;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+// Arrow pool stress: keeps 1k .. 60k arrows in flight on the map (seeded random spots and directions,
+// topped back up every tick as they land), then per tick times update() (move, collide, rebuild the grid)
+// plus hit() against the player box and 100 more random hurtboxes. Prints ms per tick, the share of the
+// 16.7 ms frame budget and bytes allocated per tick (expected 0).
+// Args: [ticks] [map resource]. Run with -Djava.awt.headless=true.
+public class ProjectileBench {
+
+    private static final int[] SIZES = {1000, 10000, 30000, 60000};
+    private static final int BOXES = 100;
+    private static final int WARMUP = 200;
+    private static final double DT = 1.0 / 60.0;
+    private static final double BUDGET_MS = 1000.0 / 60.0;
+
+    public static void main(String[] args) {
+        int ticks = args.length > 0 ? Integer.parseInt(args[0]) : 600;
+        String mapPath = args.length > 1 ? args[1] : "/main/resources/maps/demo.json";
+        TiledMap map = TiledLoader.loadJsonMap(mapPath);
+        int w = map.getPixelWidth(), h = map.getPixelHeight();
+
+        for (int n : SIZES) {
+            Random rnd = new Random(n);
+            Projectiles arrows = new Projectiles(n, w, h);
+            Rect[] boxes = new Rect[BOXES + 1];
+            boxes[0] = new Rect(w / 2 - 8, h / 2 - 5, 16, 10); // the player's feet
+            for (int b = 1; b <= BOXES; b++) boxes[b] = new Rect(rnd.nextInt(w), rnd.nextInt(h), 16, 10);
+
+            long probe = -allocatedBytes() + allocatedBytes(); // the counter's own cost
+            long totalNs = 0, worstNs = 0, hits = 0;
+            long allocated = 0;
+            for (int t = 0; t < WARMUP + ticks; t++) {
+                if (t == WARMUP) allocated = allocatedBytes(); // top-ups included: they must not allocate either
+                for (int k = arrows.getLiveCount(); k < n; k++) {
+                    double angle = rnd.nextDouble() * 2 * Math.PI;
+                    arrows.spawn(rnd.nextInt(w), rnd.nextInt(h),
+                            (float) Math.cos(angle) * 420f, (float) Math.sin(angle) * 420f, 30 + rnd.nextInt(120));
+                }
+
+                long t0 = System.nanoTime();
+                arrows.update(map, DT);
+                for (Rect box : boxes) hits += arrows.hit(box);
+                long t1 = System.nanoTime();
+
+                if (t < WARMUP) continue; // JIT
+                totalNs += t1 - t0;
+                worstNs = Math.max(worstNs, t1 - t0);
+            }
+            allocated = allocatedBytes() - allocated - probe;
+
+            double ms = totalNs / 1e6 / ticks;
+            System.out.printf("%6d arrows: %7.3f ms/tick (%5.1f%% of frame, worst %7.3f ms)  %d hits  alloc %d B/tick%n",
+                    n, ms, ms / BUDGET_MS * 100, worstNs / 1e6, hits, allocated / ticks);
+        }
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+}
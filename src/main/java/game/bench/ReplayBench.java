@@ -0,0 +1,64 @@
+package main.java.game.bench;
+
+import main.java.game.Checksum;
+import main.java.game.Game;
+import main.java.game.World;
+import main.java.game.entity.Player;
+import main.java.game.input.InputReplay;
+import main.java.game.map.TiledLoader;
+import main.java.game.map.TiledMap;
+import main.java.game.physics.Fixed;
+
+import java.nio.file.Path;
+
+// Steps a World through a recorded replay as fast as it goes: no window, no rendering, no sleeping.
+// Every pass must produce the same per-tick checksums (a mismatch means the simulation isn't deterministic),
+// and ticks/s is the number to compare between builds. Add -Dgame.fixedPhysics=true for the 16.16 mode.
+// Usage: ReplayBench <replay file> [passes]   (run with -Djava.awt.headless=true)
+public class ReplayBench {
+
+    private static final double DT = 1.0 / 60.0;
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Usage: ReplayBench <replay file> [passes]");
+            return;
+        }
+        InputReplay replay = new InputReplay(Path.of(args[0]));
+        int passes = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        TiledMap map = TiledLoader.loadJsonMap(replay.getMapId());
+        System.out.println("map " + replay.getMapId() + ", seed " + replay.getSeed() + ", " + replay.getTickCount() + " ticks"
+                + (Fixed.ENABLED ? ", fixed-point physics" : ""));
+
+        String first = null;
+        for (int pass = 0; pass < passes; pass++) { // first passes are JIT warm-up
+            World world = new World(map, Game.VIRTUAL_WIDTH, Game.VIRTUAL_HEIGHT, replay.getSeed());
+            world.reset();
+            replay.rewind();
+
+            // Chain of every tick's checksum: any divergence anywhere changes it
+            long trail = Checksum.START;
+            long t0 = System.nanoTime();
+            while (replay.hasNext()) {
+                world.update(replay.next(), DT);
+                trail = Checksum.mix(trail, world.getChecksum());
+            }
+            long t1 = System.nanoTime();
+
+            String end = describe(world) + String.format(" trail=%016x", trail);
+            if (first == null) first = end;
+
+            double secs = (t1 - t0) / 1e9;
+            System.out.printf("pass %d: %.1f ms, %.0f ticks/s (%.1fx real time)  %s%s%n",
+                    pass, secs * 1e3, replay.getTickCount() / secs, replay.getTickCount() * DT / secs,
+                    end, end.equals(first) ? "" : "  DESYNC");
+        }
+    }
+
+    private static String describe(World world) {
+        Player p = world.getPlayer();
+        return world.getState() + " player=" + p.x + "," + p.y + " hp=" + (int) (p.getHpPercent() * 100) + "%"
+                + " enemies=" + world.getEnemies().size();
+    }
+}
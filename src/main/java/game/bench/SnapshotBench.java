@@ -0,0 +1,87 @@
+package main.java.game.bench;
+
+import main.java.game.Game;
+import main.java.game.World;
+import main.java.game.WorldSnapshot;
+import main.java.game.input.Input;
+import main.java.game.map.SpawnPoint;
+import main.java.game.map.TiledLoader;
+import main.java.game.map.TiledMap;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+// World snapshot capture / restore with 10 .. 10k live enemies, against rebuilding the level (new World +
+// reset). Each size spreads N enemy spawns over the map (streaming radius lifted so all are live), runs a
+// few ticks, captures, runs on, then times capture / restore (best of 200) and checks that capturing the
+// restored world gives the original snapshot byte for byte.
+// Also prints bytes allocated per restore (expected 0). Args: [map resource]. Run with -Djava.awt.headless=true.
+public class SnapshotBench {
+
+    private static final int[] SIZES = {10, 100, 1000, 10000};
+    private static final int ROUNDS = 200;
+    private static final double DT = 1.0 / 60.0;
+
+    public static void main(String[] args) {
+        // Before World is loaded: every spawn within reach of the view from the start
+        if (System.getProperty("game.spawnRadius") == null) System.setProperty("game.spawnRadius", "1000000");
+        String mapPath = args.length > 0 ? args[0] : "/main/resources/maps/demo.json";
+
+        for (int n : SIZES) {
+            TiledMap map = TiledLoader.loadJsonMap(mapPath);
+            addSpawns(map, n);
+
+            long b0 = System.nanoTime();
+            World world = new World(map, Game.VIRTUAL_WIDTH, Game.VIRTUAL_HEIGHT, 42L);
+            world.reset();
+            double buildMs = (System.nanoTime() - b0) / 1e6;
+
+            for (int t = 0; t < 10; t++) world.update(Input.RIGHT | Input.ATTACK, DT);
+
+            WorldSnapshot snapshot = new WorldSnapshot();
+            snapshot.capture(world);
+            for (int t = 0; t < 20; t++) world.update(Input.DOWN, DT);
+
+            // Captures of the moved-on world go to a scratch snapshot; every restore puts the captured tick back
+            WorldSnapshot scratch = new WorldSnapshot();
+            long probe = -allocatedBytes() + allocatedBytes(); // the counter's own cost
+            long captureNs = Long.MAX_VALUE, restoreNs = Long.MAX_VALUE;
+            long allocated = 0;
+            for (int round = 0; round < ROUNDS; round++) { // best of, the first rounds warm the JIT up
+                long t0 = System.nanoTime();
+                scratch.capture(world);
+                long t1 = System.nanoTime();
+                long a0 = allocatedBytes();
+                snapshot.restore(world);
+                long a1 = allocatedBytes();
+                long t2 = System.nanoTime();
+                captureNs = Math.min(captureNs, t1 - t0);
+                restoreNs = Math.min(restoreNs, t2 - t1);
+                if (round == ROUNDS - 1) allocated = a1 - a0 - probe;
+            }
+            scratch.capture(world);
+
+            System.out.printf("%5d enemies: %7d bytes  capture %8.3f ms  restore %8.3f ms  (rebuild %8.2f ms)"
+                            + "  restore alloc %d B%s%n",
+                    world.getEnemies().size(), snapshot.size(), captureNs / 1e6, restoreNs / 1e6, buildMs, allocated,
+                    scratch.contentEquals(snapshot) ? "" : "  STATE DIFFERS AFTER RESTORE");
+        }
+    }
+
+    // N enemy spawns at seeded random spots, plus a player start if the map has none
+    private static void addSpawns(TiledMap map, int n) {
+        Random rnd = new Random(n);
+        if (map.getSpawnTable().getPlayerSpawn() == null) {
+            map.addSpawn(new SpawnPoint(SpawnPoint.PLAYER, SpawnPoint.PLAYER, null, null, 1, 352f, 352f));
+        }
+        for (int i = 0; i < n; i++) {
+            float x = 32 + rnd.nextInt(Math.max(1, map.getPixelWidth() - 64));
+            float y = 32 + rnd.nextInt(Math.max(1, map.getPixelHeight() - 64));
+            map.addSpawn(new SpawnPoint(SpawnPoint.ENEMY, SpawnPoint.ENEMY, "warrior", null, 1, x, y));
+        }
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+}
@@ -0,0 +1,56 @@
+package main.java.game.bench;
+
+import main.java.game.gfx.SpriteCache;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+// Draws 1000 left-facing warriors into a 1280x720 backbuffer, flipped at draw time (negative width)
+// vs. pre-mirrored frames. Run with -Djava.awt.headless=true.
+public class SpriteFlipBench {
+
+    private static final String SHEET = "/main/resources/sprites/player/Red_Units/Warrior/Warrior_Idle.png";
+    private static final int SPRITES = 1000;
+    private static final int FRAMES = 60;
+
+    public static void main(String[] args) {
+        BufferedImage backbuffer = new BufferedImage(1280, 720, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = backbuffer.createGraphics();
+
+        BufferedImage[] frames = SpriteCache.frames(SHEET, 8);
+        BufferedImage[] mirrored = SpriteCache.mirroredFrames(SHEET, 8);
+
+        Random rnd = new Random(42);
+        int[] xs = new int[SPRITES];
+        int[] ys = new int[SPRITES];
+        for (int i = 0; i < SPRITES; i++) {
+            xs[i] = rnd.nextInt(1280 - 192);
+            ys[i] = rnd.nextInt(720 - 192);
+        }
+
+        for (int round = 0; round < 3; round++) { // first rounds are JIT warm-up
+            long t0 = System.nanoTime();
+            for (int f = 0; f < FRAMES; f++) {
+                BufferedImage frame = frames[f % frames.length];
+                int fw = frame.getWidth();
+                int fh = frame.getHeight();
+                for (int i = 0; i < SPRITES; i++) {
+                    g.drawImage(frame, xs[i] + fw, ys[i], -fw, fh, null);
+                }
+            }
+            long t1 = System.nanoTime();
+            for (int f = 0; f < FRAMES; f++) {
+                BufferedImage frame = mirrored[f % mirrored.length];
+                for (int i = 0; i < SPRITES; i++) {
+                    g.drawImage(frame, xs[i], ys[i], null);
+                }
+            }
+            long t2 = System.nanoTime();
+
+            System.out.printf("round %d: flip-at-draw %.2f ms/frame, pre-mirrored %.2f ms/frame%n",
+                    round, (t1 - t0) / 1e6 / FRAMES, (t2 - t1) / 1e6 / FRAMES);
+        }
+        g.dispose();
+    }
+}
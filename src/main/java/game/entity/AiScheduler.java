@@ -0,0 +1,142 @@
+package main.java.game.entity;
+
+import main.java.game.gfx.Camera;
+import main.java.game.map.TiledMap;
+
+// AI level-of-detail: decides per tick how much work each enemy gets.
+//  FULL    - near the player with a line of sight, or on screen (or busy with a timer): AI + animation every tick
+//  REDUCED - out of aggro but within wake range: one AI step every REDUCED_INTERVAL ticks, dt accumulated
+//  SLEEP   - far away and off screen: no AI at all, re-checked every SLEEP_CHECK_INTERVAL ticks
+// Enemies are staggered by phase so reduced/sleeping work is spread evenly across ticks.
+public class AiScheduler {
+
+    public enum Level {FULL, REDUCED, SLEEP}
+
+    private static final int REDUCED_INTERVAL = 4;
+    private static final int SLEEP_CHECK_INTERVAL = 15;
+
+    // Distances from the player (px), from the world's aggro range.
+    // Full range leaves a margin so entering aggro isn't noticed late.
+    private static final float FULL_MARGIN = 64f;
+    private static final float WAKE_FACTOR = 3f;
+
+    // Sprite half-size (192x192 frames) + a margin around the view
+    private static final int SPRITE_HALF = 96;
+    private static final int VIEW_MARGIN = 64;
+
+    private final EnemyTuning tuning;
+    private final float fullRange, wakeRange;
+
+    private long tick = 0;
+    private int nextPhase = 0;
+    private int fullCount, reducedCount, sleepCount;
+
+    public AiScheduler(EnemyTuning tuning) {
+        this.tuning = tuning;
+        this.fullRange = tuning.aggroRange() + FULL_MARGIN;
+        this.wakeRange = tuning.aggroRange() * WAKE_FACTOR;
+    }
+
+    public EnemyTuning getTuning() {
+        return tuning;
+    }
+
+    public void beginTick() {
+        tick++;
+        fullCount = reducedCount = sleepCount = 0;
+    }
+
+    // Snapshot support (WorldSnapshot): the per-tick counters are rebuilt every tick and not part of it
+    public long getTick() {
+        return tick;
+    }
+
+    public int getNextPhase() {
+        return nextPhase;
+    }
+
+    public void restore(long tick, int nextPhase) {
+        this.tick = tick;
+        this.nextPhase = nextPhase;
+    }
+
+    // Called on spawn so phases are spread across the interval
+    public void assignPhase(EnemyWarrior e) {
+        e.lodPhase = nextPhase++;
+        e.lodTicks = 0;
+        e.lodDt = 0.0;
+    }
+
+    public void update(EnemyWarrior e, TiledMap map, Player player, Camera cam, double dt) {
+        // Sleepers only pay for a wake check on their phase tick
+        if (e.lod == Level.SLEEP && !onPhase(e, SLEEP_CHECK_INTERVAL)) {
+            sleepCount++;
+            return;
+        }
+
+        e.lod = classify(e, map, player, cam);
+        e.lodTicks++;
+        e.lodDt += dt;
+
+        switch (e.lod) {
+            case FULL -> {
+                fullCount++;
+                step(e, map, player, dt);
+            }
+            case REDUCED -> {
+                reducedCount++;
+                if (onPhase(e, REDUCED_INTERVAL)) step(e, map, player, dt);
+            }
+            case SLEEP -> {
+                sleepCount++;
+                // Frozen: whatever was accumulated is dropped, nothing happens out there
+                e.lodTicks = 0;
+                e.lodDt = 0.0;
+            }
+        }
+    }
+
+    private void step(EnemyWarrior e, TiledMap map, Player player, double dt) {
+        // Never integrate more than one reduced interval at once (e.g. right after waking up)
+        double stepDt = Math.min(e.lodDt, dt * REDUCED_INTERVAL);
+        e.updateAI(map, player, tuning, stepDt, e.lodTicks);
+        e.lodTicks = 0;
+        e.lodDt = 0.0;
+    }
+
+    private Level classify(EnemyWarrior e, TiledMap map, Player player, Camera cam) {
+        if (e.isBusy()) return Level.FULL;
+
+        float vx = player.x - e.x;
+        float vy = player.y - e.y;
+        float distSq = vx * vx + vy * vy;
+
+        // Close but walled off: nothing to chase, treat like a distant enemy unless it's on screen
+        if (distSq <= fullRange * fullRange && !e.isOutOfSight(map, player)) return Level.FULL;
+        if (isNearView(e, cam)) return Level.FULL;
+        if (distSq <= wakeRange * wakeRange) return Level.REDUCED;
+        return Level.SLEEP;
+    }
+
+    private boolean isNearView(EnemyWarrior e, Camera cam) {
+        float pad = SPRITE_HALF + VIEW_MARGIN;
+        return e.x + pad > cam.x && e.x - pad < cam.x + cam.viewW
+                && e.y + pad > cam.y && e.y - pad < cam.y + cam.viewH;
+    }
+
+    private boolean onPhase(EnemyWarrior e, int interval) {
+        return (tick + e.lodPhase) % interval == 0;
+    }
+
+    public int getFullCount() {
+        return fullCount;
+    }
+
+    public int getReducedCount() {
+        return reducedCount;
+    }
+
+    public int getSleepCount() {
+        return sleepCount;
+    }
+}
@@ -0,0 +1,68 @@
+package main.java.game.entity;
+
+import java.util.ArrayDeque;
+
+// Recycles EnemyWarrior instances so spawning/despawning waves doesn't re-slice sprites or churn the GC.
+// Growth policy: when empty, allocate growBy enemies at once; on release, keep at most maxFree idle ones.
+public class EnemyPool {
+
+    private final String spriteBasePath;
+    private final UnitType unit;
+    private final int growBy;
+    private final int maxFree;
+    private final ArrayDeque<EnemyWarrior> free = new ArrayDeque<>();
+
+    // Metrics
+    private long acquires = 0;
+    private long hits = 0;
+    private int allocated = 0;
+
+    public EnemyPool(String spriteBasePath, int initialSize, int growBy, int maxFree) {
+        this(spriteBasePath, UnitType.WARRIOR, initialSize, growBy, maxFree);
+    }
+
+    public EnemyPool(String spriteBasePath, UnitType unit, int initialSize, int growBy, int maxFree) {
+        this.spriteBasePath = spriteBasePath;
+        this.unit = unit;
+        this.growBy = Math.max(1, growBy);
+        this.maxFree = Math.max(initialSize, maxFree);
+        grow(initialSize);
+    }
+
+    public EnemyWarrior acquire(float x, float y) {
+        acquires++;
+        if (free.isEmpty()) {
+            grow(growBy);
+        } else {
+            hits++;
+        }
+        EnemyWarrior e = free.pop();
+        e.reset(x, y);
+        return e;
+    }
+
+    public void release(EnemyWarrior e) {
+        if (free.size() >= maxFree) return; // over budget: let the GC have it
+        free.push(e);
+    }
+
+    private void grow(int count) {
+        for (int i = 0; i < count; i++) {
+            free.push(new EnemyWarrior(0f, 0f, spriteBasePath, unit));
+        }
+        allocated += count;
+    }
+
+    // Share of acquire() calls served without allocating
+    public float getHitRate() {
+        return acquires == 0 ? 1f : hits / (float) acquires;
+    }
+
+    public int getFreeCount() {
+        return free.size();
+    }
+
+    public int getAllocatedCount() {
+        return allocated;
+    }
+}
@@ -0,0 +1,22 @@
+package main.java.game.entity;
+
+// Per-world enemy AI knobs, so a WorldBatch can sweep them across its worlds. Configuration, not state:
+// snapshots and checksums leave it out, a world keeps its tuning for life.
+//  aggroRange          - px from the player where enemies start chasing (also scales the AI LOD ranges)
+//  stopRangeScale      - multiplies each unit's own stop range (warriors 44 px, archers 180 px)
+//  attackCooldownTicks - ticks between the end of an attack (or a blocked one) and the next
+public record EnemyTuning(float aggroRange, float stopRangeScale, int attackCooldownTicks) {
+
+    public static final EnemyTuning DEFAULT = new EnemyTuning(220f, 1f, 75); // cooldown ~1.25s at 60fps
+
+    public EnemyTuning {
+        if (aggroRange <= 0f || stopRangeScale <= 0f || attackCooldownTicks < 0) {
+            throw new IllegalArgumentException("Bad enemy tuning: " + aggroRange + ", " + stopRangeScale
+                    + ", " + attackCooldownTicks);
+        }
+    }
+
+    public float stopRange(UnitType unit) {
+        return unit.stopRange() * stopRangeScale;
+    }
+}
@@ -1,25 +1,32 @@
 package main.java.game.entity;
 
-import main.java.game.gfx.Animation;
+import main.java.game.Checksum;
+import main.java.game.gfx.AnimationClip;
+import main.java.game.gfx.AnimationClips;
 import main.java.game.gfx.Camera;
+import main.java.game.gfx.RenderBatch;
+import main.java.game.gfx.Renderable;
 import main.java.game.map.TiledMap;
+import main.java.game.physics.Fixed;
 import main.java.game.physics.Rect;
+import main.java.game.physics.SweptResolver;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
-import java.util.Objects;
+import java.nio.ByteBuffer;
+import java.util.List;
 
-public class EnemyWarrior {
+public class EnemyWarrior implements Renderable {
 
-    private static final boolean DEBUG = true;
+    // Console hit log; -Dgame.hitLog=false silences it (headless batches print nothing else)
+    private static final boolean DEBUG = !"false".equals(System.getProperty("game.hitLog"));
     public float x, y;
 
     // Same “feet collider” idea as Player
     private static final int COLLIDER_W = 16;
     private static final int COLLIDER_H = 10;
     private static final int FOOT_OFFSET_Y = 24;
+    private static final int SPRITE_HALF = 96;
 
     // --- Combat hitbox constants (pixels, world-space) ---
     private static final int HITBOX_W = 60;
@@ -33,6 +40,12 @@ public class EnemyWarrior {
     private float kbVx = 0f, kbVy = 0f;
     private int kbTicks = 0;
 
+    // Fixed-point mode (Fixed.ENABLED): authoritative 16.16 position, x/y only mirror it
+    private int fx, fy;
+    private final int[] kbVel = new int[2]; // 16.16 px/sec
+
+    private final SweptResolver sweeper = new SweptResolver();
+
     private static final int KB_TICKS_ON_HIT = 10;     // short pop
     private static final int KB_TICKS_ON_GUARD = 8;    // slightly shorter
     private static final float KB_SPEED_ON_HIT = 260f;
@@ -43,8 +56,7 @@ public class EnemyWarrior {
 
     // Simple AI tuning
     private static final float SPEED = 90f;          // px/sec
-    private static final float AGGRO_RANGE = 220f;    // start chasing
-    private static final float STOP_RANGE = 44f;     // stop near player
+    // Aggro, stop range and attack cooldown come from the world's EnemyTuning
 
     //  i-frames to prevent damage every tick (invuln => invulnerability)
     private int invulnTicks = 0;
@@ -63,14 +75,24 @@ public class EnemyWarrior {
     private static final int FADE_DURATION_TICKS = 36; // ~0.6s
     private boolean removed = false; // fully faded, safe to stop drawing/updating
 
+    // AI level-of-detail bookkeeping, owned by AiScheduler
+    AiScheduler.Level lod = AiScheduler.Level.FULL;
+    int lodPhase = 0;       // staggers reduced/sleeping enemies across ticks
+    int lodTicks = 0;       // ticks since the last AI step
+    double lodDt = 0.0;     // dt accumulated since the last AI step
+
+    // Line of sight to the player (see canSeePlayer): raycast result reused until stale
+    private static final int LOS_REFRESH_TICKS = 6;
+    private boolean losVisible = false;
+    private int losTicks = 0;                          // ticks until the next forced raycast
+    private int losSelfTile = -1, losPlayerTile = -1;  // packed tiles at the last raycast, -1 = never cast
+
     // Enemy attack control
     private boolean attackPlaying = false;
     private int attackTicks = 0;
     private int attackDurationTicks = 30;
     private int attackCooldownTicks = 0;
 
-    // Tune to make enemy slower than player or to satisfactory delay.
-    private static final int ATTACK_COOLDOWN_TICKS = 75; // ~1.25s at 60fps
     private static final int ATTACK_WINDUP_TICKS = 8;    // small windup before active frames
 
     // Animation state
@@ -81,96 +103,120 @@ public class EnemyWarrior {
     private AnimationType currentAnimType = AnimationType.IDLE;
     private MoveType currentMoveType = MoveType.DOWN;
 
-    private Animation idleDownAnim, idleUpAnim, idleLeftAnim, idleRightAnim, attackAnim;
-    private Animation runDownAnim, runUpAnim, runLeftAnim, runRightAnim;
+    // values() clones; snapshots decode through these
+    private static final AnimationType[] ANIM_TYPES = AnimationType.values();
+    private static final MoveType[] MOVE_TYPES = MoveType.values();
+    private static final AiScheduler.Level[] LOD_LEVELS = AiScheduler.Level.values();
+
+    // Shared clips (AnimationClips ids), same for every enemy; all directions reuse the same sheets for now
+    private int idleClip, runClip, attackClip;
 
-    private Animation currentAnimation;
+    // Playback: clip being played and ticks since it started
+    private int clipId;
+    private int clipElapsed;
 
 
     // Base folder where the RED warrior sprites live
     // "/main/resources/sprites/player/Red_Units/Warrior/"
     private final String spriteBasePath;
+    private final UnitType unit;
+
+    // Ranged units: the arrow leaves at this tick of the attack; World fires it (see takeShot)
+    private int releaseTick;
+    private boolean shotPending = false;
+
+    // Map spawn this enemy was streamed in from (World bookkeeping, survives pool resets until reassigned)
+    private int spawnId = -1;
 
     public EnemyWarrior(float x, float y, String spriteBasePath) {
+        this(x, y, spriteBasePath, UnitType.WARRIOR);
+    }
+
+    public EnemyWarrior(float x, float y, String spriteBasePath, UnitType unit) {
         this.x = x;
         this.y = y;
         this.spriteBasePath = spriteBasePath.endsWith("/") ? spriteBasePath : (spriteBasePath + "/");
+        this.unit = unit;
         initAnimations();
     }
 
-    private void initAnimations() {
-        try {
-            BufferedImage idleSheet = ImageIO.read(Objects.requireNonNull(
-                    getClass().getResource(spriteBasePath + "Warrior_Idle.png"),
-                    "Missing enemy idle sprite sheet: " + spriteBasePath + "Warrior_Idle.png"
-            ));
-
-            BufferedImage runSheet = ImageIO.read(Objects.requireNonNull(
-                    getClass().getResource(spriteBasePath + "Warrior_Run.png"),
-                    "Missing enemy run sprite sheet: " + spriteBasePath + "Warrior_Run.png"
-            ));
-
-            int frameWidth = 192;
-            int frameHeight = 192;
-
-            int idleFramesCount = 8;
-            int runFramesCount = 6;
+    // Pool recycling: back to a freshly spawned enemy at (x, y), animations are kept as-is
+    public void reset(float x, float y) {
+        this.x = x;
+        this.y = y;
 
-            BufferedImage[] idleFrames = new BufferedImage[idleFramesCount];
-            for (int i = 0; i < idleFramesCount; i++) {
-                idleFrames[i] = idleSheet.getSubimage(i * frameWidth, 0, frameWidth, frameHeight);
-            }
+        kbVx = 0f;
+        kbVy = 0f;
+        kbVel[0] = 0;
+        kbVel[1] = 0;
+        kbTicks = 0;
+        facingLeft = false;
 
-            BufferedImage[] runFrames = new BufferedImage[runFramesCount];
-            for (int i = 0; i < runFramesCount; i++) {
-                runFrames[i] = runSheet.getSubimage(i * frameWidth, 0, frameWidth, frameHeight);
-            }
+        invulnTicks = 0;
+        lastHitAttackId = -1;
+        hp = MAX_HP;
+        dead = false;
+        fadeTicks = 0;
+        removed = false;
 
-            // Reuse same frames for all directions for now
-            idleDownAnim = new Animation(idleFrames, 8);
-            idleUpAnim = new Animation(idleFrames, 8);
-            idleLeftAnim = new Animation(idleFrames, 8);
-            idleRightAnim = new Animation(idleFrames, 8);
+        attackPlaying = false;
+        attackTicks = 0;
+        attackCooldownTicks = 0;
+        shotPending = false;
+
+        losVisible = false;
+        losTicks = 0;
+        losSelfTile = -1;
+        losPlayerTile = -1;
+
+        currentAnimType = AnimationType.IDLE;
+        currentMoveType = MoveType.DOWN;
+        clipId = idleClip;
+        clipElapsed = 0;
+
+        lod = AiScheduler.Level.FULL;
+        lodTicks = 0;
+        lodDt = 0.0;
+    }
 
-            runDownAnim = new Animation(runFrames, 6);
-            runUpAnim = new Animation(runFrames, 6);
-            runLeftAnim = new Animation(runFrames, 6);
-            runRightAnim = new Animation(runFrames, 6);
+    // Every sheet initAnimations() may slice (all preloaded when lazy clips are off)
+    public static List<String> sheetPaths(String spriteBasePath) {
+        return sheetPaths(spriteBasePath, UnitType.WARRIOR);
+    }
 
-            // Load attack and guard animations
-            attackAnim = loadAnimation(spriteBasePath + "Warrior_Attack1.png", 4, 6);
-            attackDurationTicks = attackAnim.getFrameCount() * attackAnim.getFrameDelay();
+    public static List<String> sheetPaths(String spriteBasePath, UnitType unit) {
+        String base = spriteBasePath.endsWith("/") ? spriteBasePath : (spriteBasePath + "/");
+        return List.of(
+                base + unit.idleSheet(),
+                base + unit.runSheet(),
+                base + unit.attackSheet()
+        );
+    }
 
-            currentAnimation = idleDownAnim;
+    // Sheets worth decoding before the first frame (the attack is one shared decode, and a hitch mid-fight)
+    public static List<String> warmupSheets(String spriteBasePath) {
+        return warmupSheets(spriteBasePath, UnitType.WARRIOR);
+    }
 
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to load Enemy Warrior sprite sheets", e);
-        }
+    public static List<String> warmupSheets(String spriteBasePath, UnitType unit) {
+        return sheetPaths(spriteBasePath, unit);
     }
 
-    private Animation loadAnimation(String path, int frameCount, int frameDelay) {
+    // Resolve the shared clips: idle/run built by the first enemy, attack registered lazily (see warmupSheets)
+    private void initAnimations() {
         try {
-            BufferedImage sheet = ImageIO.read(Objects.requireNonNull(
-                    getClass().getResource(path)
-            ));
-            int frameWidth = sheet.getWidth() / frameCount;
-            int frameHeight = sheet.getHeight();
-
-            BufferedImage[] frames = new BufferedImage[frameCount];
-            for (int i = 0; i < frameCount; i++) {
-                frames[i] = sheet.getSubimage(i * frameWidth, 0, frameWidth, frameHeight);
-            }
-            return new Animation(frames, frameDelay);
-        } catch (IOException e) {
-            e.printStackTrace();
-            // Fallback: 1x1 dummy frame to avoid crashes
-            BufferedImage dummy = new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB);
-            Graphics2D g2 = dummy.createGraphics();
-            g2.setColor(Color.MAGENTA);
-            g2.fillRect(0, 0, 16, 16);
-            g2.dispose();
-            return new Animation(new BufferedImage[]{dummy}, frameDelay);
+            idleClip = AnimationClips.load(spriteBasePath + unit.idleSheet(), unit.idleFrames(), 8);
+            runClip = AnimationClips.load(spriteBasePath + unit.runSheet(), unit.runFrames(), 6);
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Failed to load Enemy " + unit.name() + " sprite sheets", e);
         }
+
+        attackClip = AnimationClips.lazy(spriteBasePath + unit.attackSheet(), unit.attackFrames(), 6);
+        attackDurationTicks = AnimationClips.durationTicks(attackClip);
+        releaseTick = (int) (attackDurationTicks * 0.70f);
+
+        clipId = idleClip;
+        clipElapsed = 0;
     }
 
     // --- collider helpers (same idea as Player) ---
@@ -182,52 +228,123 @@ public class EnemyWarrior {
         return y + FOOT_OFFSET_Y - COLLIDER_H;
     }
 
-    // --- Movement with collision (axis-by-axis resolution) ---
+    public int getColH() {
+        return COLLIDER_H;
+    }
+
+    // --- Movement with collision (swept, slides along contacts) ---
     public void move(TiledMap map, float dx, float dy) {
-        if (dx != 0f) {
-            float newX = x + dx;
-            float colX = newX - COLLIDER_W / 2f;
-            float colY = getColY();
-
-            for (Rect r : map.colliders) {
-                if (r.intersects(colX, colY, COLLIDER_W, COLLIDER_H)) {
-                    if (dx > 0) newX = r.x - COLLIDER_W / 2f;
-                    else newX = r.x + r.w + COLLIDER_W / 2f;
-                    colX = newX - COLLIDER_W / 2f;
-                }
-            }
-            x = newX;
+        if (Fixed.ENABLED) {
+            moveFixed(map, Fixed.fromFloat(dx), Fixed.fromFloat(dy));
+            return;
         }
 
-        if (dy != 0f) {
-            float newY = y + dy;
-            float colX = getColX();
-            float colY = newY + FOOT_OFFSET_Y - COLLIDER_H;
-
-            for (Rect r : map.colliders) {
-                if (r.intersects(colX, colY, COLLIDER_W, COLLIDER_H)) {
-                    if (dy > 0) newY = r.y - FOOT_OFFSET_Y;
-                    else newY = r.y + r.h - FOOT_OFFSET_Y + COLLIDER_H;
-                    colY = newY + FOOT_OFFSET_Y - COLLIDER_H;
-                }
-            }
-            y = newY;
+        if (dx == 0f && dy == 0f) return;
+
+        // Only clear tiles around the step (the common case): a few bit ops, no collider query
+        float colX = getColX(), colY = getColY();
+        if (!map.maySweepInto(colX, colY, COLLIDER_W, COLLIDER_H, dx, dy)) {
+            // Same float ops as a sweep that hits nothing, so both paths land on the same position
+            x = (colX + dx) + COLLIDER_W / 2f;
+            y = (colY + dy) - FOOT_OFFSET_Y + COLLIDER_H;
+            return;
+        }
+
+        sweeper.move(map.getColliderIndex(), colX, colY, COLLIDER_W, COLLIDER_H, dx, dy);
+        x = sweeper.boxX + COLLIDER_W / 2f;
+        y = sweeper.boxY - FOOT_OFFSET_Y + COLLIDER_H;
+    }
+
+    // Same rules as move() in 16.16 (fdx/fdy already quantized)
+    private void moveFixed(TiledMap map, int fdx, int fdy) {
+        syncFixed();
+        if (fdx == 0 && fdy == 0) return;
+
+        int offX = Fixed.fromInt(COLLIDER_W) / 2;
+        int offY = Fixed.fromInt(FOOT_OFFSET_Y - COLLIDER_H);
+        int bx = fx - offX, by = fy + offY;
+
+        // The tile test is conservative, so skipping the resolver never changes the result
+        if (map.maySweepInto(Fixed.toFloat(bx), Fixed.toFloat(by), COLLIDER_W, COLLIDER_H, Fixed.toFloat(fdx), Fixed.toFloat(fdy))) {
+            sweeper.moveFixed(map.getColliderIndex(), bx, by, COLLIDER_W, COLLIDER_H, fdx, fdy);
+            fx = sweeper.fixedX + offX;
+            fy = sweeper.fixedY - offY;
+        } else {
+            fx += fdx;
+            fy += fdy;
+        }
+        x = Fixed.toFloat(fx);
+        y = Fixed.toFloat(fy);
+    }
+
+    // Picks up positions set from outside (spawn, pool reset)
+    private void syncFixed() {
+        if (Fixed.toFloat(fx) != x || Fixed.toFloat(fy) != y) {
+            fx = Fixed.fromFloat(x);
+            fy = Fixed.fromFloat(y);
+        }
+    }
+
+    // Raycast only when the cached answer is stale: every LOS_REFRESH_TICKS, or as soon as either side changes tile.
+    // Rays go between collider centers (Player uses the same feet collider layout): walls block feet, not heads.
+    private boolean canSeePlayer(TiledMap map, Player player) {
+        float eyeY = y + FOOT_OFFSET_Y - COLLIDER_H / 2f;
+        float playerEyeY = player.y + FOOT_OFFSET_Y - COLLIDER_H / 2f;
+        int selfTile = (map.tileY(eyeY) << 16) | (map.tileX(x) & 0xFFFF);
+        int playerTile = (map.tileY(playerEyeY) << 16) | (map.tileX(player.x) & 0xFFFF);
+
+        if (losTicks > 0 && selfTile == losSelfTile && playerTile == losPlayerTile) return losVisible;
+
+        losVisible = map.hasLineOfSight(x, eyeY, player.x, playerEyeY);
+        losTicks = LOS_REFRESH_TICKS;
+        losSelfTile = selfTile;
+        losPlayerTile = playerTile;
+        return losVisible;
+    }
+
+    // A wall is in the way (AiScheduler keeps such enemies dormant). Same cache as the aggro check, refreshed
+    // here too: the scheduler asks out to its full range, past where updateAI() would have raycast.
+    boolean isOutOfSight(TiledMap map, Player player) {
+        return !canSeePlayer(map, player);
+    }
+
+    // Anything driven by per-tick counters must run every tick, whatever the distance
+    boolean isBusy() {
+        return dead || kbTicks > 0 || attackPlaying || invulnTicks > 0;
+    }
+
+    // Reduced-rate AI (LOD): one step standing in for `ticks` ticks, dt already accumulated by the caller
+    void updateAI(TiledMap map, Player player, EnemyTuning tuning, double dt, int ticks) {
+        if (ticks > 1 && attackCooldownTicks > 0) {
+            attackCooldownTicks = Math.max(0, attackCooldownTicks - (ticks - 1));
         }
+        if (ticks > 1) losTicks = Math.max(0, losTicks - (ticks - 1));
+        updateAI(map, player, tuning, dt);
     }
 
     // --- AI update: chase player in range, idle otherwise ---
     // TODO: implement AI for attack and guard bases on current state and predictability player next move.
-    public void updateAI(TiledMap map, Player player, double dt) {
+    public void updateAI(TiledMap map, Player player, EnemyTuning tuning, double dt) {
         if (removed) return;
 
         if (invulnTicks > 0) invulnTicks--;
+        if (losTicks > 0) losTicks--;
 
         // Knockback takes priority over AI/movement
         if (kbTicks > 0) {
-            float dx = kbVx * (float) dt;
-            float dy = kbVy * (float) dt;
-
-            move(map, dx, dy);
+            float dx, dy;
+            if (Fixed.ENABLED) {
+                int fdt = Fixed.fromFloat((float) dt);
+                int fdx = Fixed.mul(kbVel[0], fdt);
+                int fdy = Fixed.mul(kbVel[1], fdt);
+                moveFixed(map, fdx, fdy);
+                dx = Fixed.toFloat(fdx);
+                dy = Fixed.toFloat(fdy);
+            } else {
+                dx = kbVx * (float) dt;
+                dy = kbVy * (float) dt;
+                move(map, dx, dy);
+            }
 
             kbTicks--;
 
@@ -256,12 +373,13 @@ public class EnemyWarrior {
         float vy = py - y;
 
         float distSq = vx * vx + vy * vy;
-        float aggroSq = AGGRO_RANGE * AGGRO_RANGE;
-        float stopSq = STOP_RANGE * STOP_RANGE;
+        float aggroSq = tuning.aggroRange() * tuning.aggroRange();
+        float stopSq = tuning.stopRange(unit) * tuning.stopRange(unit);
 
         float dx = 0f, dy = 0f;
 
-        boolean inAggro = distSq <= aggroSq;
+        // Range first (cheap), then sight: no aggro through walls
+        boolean inAggro = distSq <= aggroSq && canSeePlayer(map, player);
         boolean inStop = distSq <= stopSq;
 
         // Decide facing toward player which helps hitbox direction
@@ -273,11 +391,12 @@ public class EnemyWarrior {
         if (attackPlaying) {
             attackTicks++;
             updateAttackAnimation();
+            if (unit.ranged() && attackTicks == releaseTick) shotPending = true;
 
             if (attackTicks >= attackDurationTicks) {
                 attackPlaying = false;
                 attackTicks = 0;
-                attackCooldownTicks = ATTACK_COOLDOWN_TICKS;
+                attackCooldownTicks = tuning.attackCooldownTicks();
                 setAnimation(AnimationType.IDLE, currentMoveType);
             }
             return;
@@ -309,7 +428,7 @@ public class EnemyWarrior {
     }
 
     private void updateAttackAnimation() {
-        if (currentAnimation != null) currentAnimation.update();
+        clipElapsed++;
     }
 
     private void startAttackAnimation() {
@@ -328,8 +447,9 @@ public class EnemyWarrior {
         );
     }
 
+    // Melee only: a ranged attack hurts through its arrow
     public boolean isAttackActive() {
-        if (!attackPlaying) return false;
+        if (!attackPlaying || unit.ranged()) return false;
 
         int start = ATTACK_WINDUP_TICKS;
         int end = (int) (attackDurationTicks * 0.70f);
@@ -346,6 +466,120 @@ public class EnemyWarrior {
         return removed;
     }
 
+    public boolean isSleeping() {
+        return lod == AiScheduler.Level.SLEEP;
+    }
+
+    // Everything the simulation reads back next tick (see World.getChecksum): the same fields as writeState
+    public long hashState(long h) {
+        h = Checksum.mix(h, x);
+        h = Checksum.mix(h, y);
+        h = Checksum.mix(h, fx);
+        h = Checksum.mix(h, fy);
+        h = Checksum.mix(h, kbVx);
+        h = Checksum.mix(h, kbVy);
+        h = Checksum.mix(h, kbTicks);
+        h = Checksum.mix(h, kbVel[0]);
+        h = Checksum.mix(h, kbVel[1]);
+        h = Checksum.mix(h, invulnTicks);
+        h = Checksum.mix(h, lastHitAttackId);
+        h = Checksum.mix(h, hp);
+        h = Checksum.mix(h, fadeTicks);
+        h = Checksum.mix(h, facingLeft);
+        h = Checksum.mix(h, dead);
+        h = Checksum.mix(h, removed);
+        h = Checksum.mix(h, losVisible);
+        h = Checksum.mix(h, attackPlaying);
+        h = Checksum.mix(h, lod.ordinal());
+        h = Checksum.mix(h, lodPhase);
+        h = Checksum.mix(h, lodTicks);
+        h = Checksum.mix(h, lodDt);
+        h = Checksum.mix(h, losTicks);
+        h = Checksum.mix(h, losSelfTile);
+        h = Checksum.mix(h, losPlayerTile);
+        h = Checksum.mix(h, attackTicks);
+        h = Checksum.mix(h, attackCooldownTicks);
+        h = Checksum.mix(h, currentAnimType.ordinal());
+        h = Checksum.mix(h, currentMoveType.ordinal());
+        h = Checksum.mix(h, clipId == runClip ? 1 : clipId == attackClip ? 2 : 0);
+        return Checksum.mix(h, clipElapsed);
+    }
+
+    // Snapshot of every mutable field but the spawn id, which World writes (see WorldSnapshot)
+    public void writeState(ByteBuffer b) {
+        b.putFloat(x).putFloat(y);
+        b.putInt(fx).putInt(fy);
+        b.putFloat(kbVx).putFloat(kbVy).putInt(kbTicks);
+        b.putInt(kbVel[0]).putInt(kbVel[1]);
+        b.putInt(invulnTicks).putInt(lastHitAttackId).putInt(hp).putInt(fadeTicks);
+        b.put((byte) ((facingLeft ? 1 : 0) | (dead ? 2 : 0) | (removed ? 4 : 0) | (losVisible ? 8 : 0)
+                | (attackPlaying ? 16 : 0)));
+        b.put((byte) lod.ordinal()).putInt(lodPhase).putInt(lodTicks).putDouble(lodDt);
+        b.putInt(losTicks).putInt(losSelfTile).putInt(losPlayerTile);
+        b.putInt(attackTicks).putInt(attackCooldownTicks);
+        b.put((byte) currentAnimType.ordinal()).put((byte) currentMoveType.ordinal());
+        b.put((byte) (clipId == runClip ? 1 : clipId == attackClip ? 2 : 0)).putInt(clipElapsed);
+    }
+
+    public void readState(ByteBuffer b) {
+        x = b.getFloat();
+        y = b.getFloat();
+        fx = b.getInt();
+        fy = b.getInt();
+        kbVx = b.getFloat();
+        kbVy = b.getFloat();
+        kbTicks = b.getInt();
+        kbVel[0] = b.getInt();
+        kbVel[1] = b.getInt();
+        invulnTicks = b.getInt();
+        lastHitAttackId = b.getInt();
+        hp = b.getInt();
+        fadeTicks = b.getInt();
+        int flags = b.get();
+        facingLeft = (flags & 1) != 0;
+        dead = (flags & 2) != 0;
+        removed = (flags & 4) != 0;
+        losVisible = (flags & 8) != 0;
+        attackPlaying = (flags & 16) != 0;
+        lod = LOD_LEVELS[b.get()];
+        lodPhase = b.getInt();
+        lodTicks = b.getInt();
+        lodDt = b.getDouble();
+        losTicks = b.getInt();
+        losSelfTile = b.getInt();
+        losPlayerTile = b.getInt();
+        attackTicks = b.getInt();
+        attackCooldownTicks = b.getInt();
+        currentAnimType = ANIM_TYPES[b.get()];
+        currentMoveType = MOVE_TYPES[b.get()];
+        int slot = b.get();
+        clipId = slot == 1 ? runClip : slot == 2 ? attackClip : idleClip;
+        clipElapsed = b.getInt();
+    }
+
+    // World, after this tick's AI: true once when a ranged attack lets its arrow go
+    public boolean takeShot() {
+        if (!shotPending) return false;
+        shotPending = false;
+        return true;
+    }
+
+    public UnitType getUnit() {
+        return unit;
+    }
+
+    public int getSpawnId() {
+        return spawnId;
+    }
+
+    public void setSpawnId(int spawnId) {
+        this.spawnId = spawnId;
+    }
+
+    public String getSpriteBasePath() {
+        return spriteBasePath;
+    }
+
     public int getHp() {
         return hp;
     }
@@ -393,57 +627,59 @@ public class EnemyWarrior {
 
         setAnimation(animType, moveType);
 
-        if (currentAnimation != null) currentAnimation.update();
+        clipElapsed++;
     }
 
-    public void cancelAttackAndStartCooldown() {
+    public void cancelAttackAndStartCooldown(EnemyTuning tuning) {
         if (!attackPlaying) return;
         attackPlaying = false;
         attackTicks = 0;
-        attackCooldownTicks = ATTACK_COOLDOWN_TICKS;
+        attackCooldownTicks = tuning.attackCooldownTicks();
         setAnimation(AnimationType.IDLE, currentMoveType);
     }
 
 
-    private Animation getAnimation(AnimationType type, MoveType move) {
-        if (type == AnimationType.ATTACK) {
-            return (attackAnim != null) ? attackAnim : idleDownAnim;
-        }
-
-        if (type == AnimationType.IDLE) {
-            return switch (move) {
-                case UP -> idleUpAnim;
-                case LEFT -> idleLeftAnim;
-                case RIGHT -> idleRightAnim;
-                case DOWN, NONE -> idleDownAnim;
-            };
-        } else {
-            return switch (move) {
-                case UP -> runUpAnim;
-                case LEFT -> runLeftAnim;
-                case RIGHT -> runRightAnim;
-                case DOWN, NONE -> runDownAnim;
-            };
-        }
+    private int getAnimation(AnimationType type, MoveType move) {
+        return switch (type) {
+            case ATTACK -> attackClip;
+            case RUN -> runClip;
+            case IDLE -> idleClip;
+        };
     }
 
+    // Restarts playback only if anim type or direction changed
     private void setAnimation(AnimationType type, MoveType move) {
-        if (type == currentAnimType && move == currentMoveType && currentAnimation != null) return;
+        if (type == currentAnimType && move == currentMoveType) return;
 
         currentAnimType = type;
         currentMoveType = move;
-        currentAnimation = getAnimation(type, move);
-        if (currentAnimation != null) currentAnimation.reset();
+        clipId = getAnimation(type, move);
+        clipElapsed = 0;
+    }
+
+    @Override
+    public float getSortY() {
+        return y + FOOT_OFFSET_Y;
+    }
+
+    // Sprite (192x192, centered) plus the HP bar above it
+    @Override
+    public boolean isVisible(Camera cam) {
+        if (removed) return false;
+        return x + SPRITE_HALF > cam.x && x - SPRITE_HALF < cam.x + cam.viewW
+                && y + SPRITE_HALF > cam.y && y - SPRITE_HALF - 12 < cam.y + cam.viewH;
     }
 
-    public void draw(Graphics2D g, Camera cam) {
+    @Override
+    public void draw(RenderBatch batch, Camera cam) {
         if (removed) return;
 
-        int sx = (int) (x - cam.x);
-        int sy = (int) (y - cam.y);
+        int sx = (int) (x - cam.originX);
+        int sy = (int) (y - cam.originY);
 
-        Animation anim = (currentAnimation != null) ? currentAnimation : idleDownAnim;
-        BufferedImage frame = anim.getFrame();
+        AnimationClip clip = AnimationClips.get(clipId);
+        // Left-facing frames are pre-mirrored, so this is always a plain unscaled blit
+        BufferedImage frame = clip.frame(clipElapsed, facingLeft);
 
         int fw = frame.getWidth();
         int fh = frame.getHeight();
@@ -458,49 +694,29 @@ public class EnemyWarrior {
             if (alpha < 0f) alpha = 0f;
         }
 
-        Composite oldComp = g.getComposite();
-        g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha));
-
-        if (facingLeft) {
-            g.drawImage(frame, drawX + fw, drawY, -fw, fh, null);
-        } else {
-            g.drawImage(frame, drawX, drawY, null);
-        }
-
-        g.setComposite(oldComp);
+        batch.sprite(frame, drawX, drawY, alpha);
 
         // --- HP bar (won’t show when fully dead) ---
         if (!dead) {
-            drawHpBar(g, cam, fw, fh);
+            drawHpBar(batch, cam, fw, fh);
         }
     }
 
-    private void drawHpBar(Graphics2D g, Camera cam, int frameW, int frameH) {
+    private void drawHpBar(RenderBatch batch, Camera cam, int frameW, int frameH) {
         // Bar size
         int barW = 42;
         int barH = 6;
 
         // Screen position: above the head
-        int sx = (int) (x - cam.x);
-        int sy = (int) (y - cam.y);
+        int sx = (int) (x - cam.originX);
+        int sy = (int) (y - cam.originY);
 
         int barX = sx - barW / 2;
         int barY = sy - frameH / 2 - 12;
 
-        // Background
-        g.setColor(new Color(0, 0, 0, 160));
-        g.fillRect(barX, barY, barW, barH);
-
-        // Fill
+        // Background, fill and border are drawn by the batch, all bars per colour at once
         float pct = (MAX_HP <= 0) ? 0f : (hp / (float) MAX_HP);
-        int fillW = (int) (barW * pct);
-
-        g.setColor(new Color(200, 50, 50, 220));
-        g.fillRect(barX, barY, fillW, barH);
-
-        // Border
-        g.setColor(new Color(255, 255, 255, 200));
-        g.drawRect(barX, barY, barW, barH);
+        batch.hpBar(barX, barY, barW, barH, pct);
     }
 
     public Rect getAttackHitbox() {
@@ -517,6 +733,13 @@ public class EnemyWarrior {
     }
 
     public void applyKnockbackFrom(float fromX, float fromY, float kbSpeed, int ticks) {
+        if (Fixed.ENABLED) {
+            syncFixed();
+            Fixed.scaleTo(fx - Fixed.fromFloat(fromX), fy - Fixed.fromFloat(fromY), Fixed.fromFloat(kbSpeed), kbVel);
+            kbTicks = Math.max(kbTicks, ticks);
+            return;
+        }
+
         // Direction: away from player
         float vx = x - fromX;
         float vy = y - fromY;
@@ -538,26 +761,27 @@ public class EnemyWarrior {
 
 
     //----- DEBUGGING -----
-    public void debugDrawCollision(Graphics2D g, Camera cam) {
+    private static final Color DEBUG_COLLIDER_COLOR = new Color(0, 255, 255, 120);
+    private static final Color DEBUG_HITBOX_COLOR = new Color(255, 0, 0, 150);
+
+    public void debugDrawCollision(RenderBatch batch, Camera cam) {
         float colX = getColX();
         float colY = getColY();
 
-        int sx = (int) (colX - cam.x);
-        int sy = (int) (colY - cam.y);
+        int sx = (int) (colX - cam.originX);
+        int sy = (int) (colY - cam.originY);
 
-        g.setColor(new Color(0, 255, 255, 120));
-        g.drawRect(sx, sy, COLLIDER_W, COLLIDER_H);
+        batch.debugRect(DEBUG_COLLIDER_COLOR, sx, sy, COLLIDER_W, COLLIDER_H, false);
     }
 
-    public void debugDrawAttackHitbox(Graphics2D g, Camera cam) {
+    public void debugDrawAttackHitbox(RenderBatch batch, Camera cam) {
         Rect hb = getAttackHitbox();
         if (hb == null) return;
 
-        int sx = hb.x - (int) cam.x;
-        int sy = hb.y - (int) cam.y;
+        int sx = hb.x - cam.originX;
+        int sy = hb.y - cam.originY;
 
-        g.setColor(new Color(255, 0, 0, 150));
-        g.drawRect(sx, sy, hb.w, hb.h);
+        batch.debugRect(DEBUG_HITBOX_COLOR, sx, sy, hb.w, hb.h, false);
     }
 
 }
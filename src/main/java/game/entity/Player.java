@@ -1,17 +1,22 @@
 package main.java.game.entity;
 
-import main.java.game.gfx.Animation;
+import main.java.game.Checksum;
+import main.java.game.gfx.AnimationClip;
+import main.java.game.gfx.AnimationClips;
 import main.java.game.gfx.Camera;
+import main.java.game.gfx.RenderBatch;
+import main.java.game.gfx.Renderable;
 import main.java.game.map.TiledMap;
+import main.java.game.physics.Fixed;
 import main.java.game.physics.Rect;
+import main.java.game.physics.SweptResolver;
 
-import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
-import java.util.Objects;
+import java.nio.ByteBuffer;
+import java.util.List;
 
-public class Player {
+public class Player implements Renderable {
 
     // World position in pixels (treated as center of the sprite)
     public float x;
@@ -21,6 +26,7 @@ public class Player {
     private static final int COLLIDER_W = 16;
     private static final int COLLIDER_H = 10;
     private static final int FOOT_OFFSET_Y = 24; // feet-anchored collider for top-down sprites
+    private static final int SPRITE_HALF = 96;
 
     // --- Combat hitbox constants (pixels, world-space) ---
     private static final int HITBOX_W = 60;
@@ -34,6 +40,12 @@ public class Player {
     private float kbVx = 0f, kbVy = 0f;  // px/sec
     private int kbTicks = 0;
 
+    // Fixed-point mode (Fixed.ENABLED): authoritative 16.16 position, x/y only mirror it
+    private int fx, fy;
+    private final int[] kbStep = new int[2]; // 16.16 px per tick
+
+    private final SweptResolver sweeper = new SweptResolver();
+
     private static final int KB_TICKS_ON_GUARD = 8;
     private static final float KB_SPEED_ON_GUARD = 240f;
 
@@ -76,22 +88,21 @@ public class Player {
     private MoveType currentMoveType = MoveType.DOWN;
     private AttackPhase attackPhase = AttackPhase.NONE;
 
-    // Animation sets
-    private Animation idleDownAnim;
-    private Animation idleUpAnim;
-    private Animation idleLeftAnim;
-    private Animation idleRightAnim;
-
-    private Animation runDownAnim;
-    private Animation runUpAnim;
-    private Animation runLeftAnim;
-    private Animation runRightAnim;
+    // values() clones; snapshots decode through these
+    private static final AnimationType[] ANIM_TYPES = AnimationType.values();
+    private static final MoveType[] MOVE_TYPES = MoveType.values();
+    private static final AttackPhase[] ATTACK_PHASES = AttackPhase.values();
 
-    private Animation attackAnimation;   // Attack 1
-    private Animation attack2Animation;  // Attack 2 (combo)
-    private Animation guardAnimation;
+    // Shared clips (AnimationClips ids); all directions reuse the same sheets for now, left is mirrored
+    private int idleClip;
+    private int runClip;
+    private int attack1Clip;   // Attack 1
+    private int attack2Clip;   // Attack 2 (combo)
+    private int guardClip;
 
-    private Animation currentAnimation;
+    // Playback: clip being played and ticks since it started (the frame index derives from it)
+    private int clipId;
+    private int clipElapsed;
 
     // Attack playback control
     private boolean attackPlaying = false;
@@ -116,71 +127,47 @@ public class Player {
         initAnimations();
     }
 
-    // Initialize animations for the player
-    private void initAnimations() {
-        try {
-            BufferedImage idleSheet = ImageIO.read(Objects.requireNonNull(
-                    getClass().getResource(spriteBasePath + "Warrior_Idle.png"),
-                    "Missing sprite sheet: " + spriteBasePath + "Warrior_Idle.png"
-            ));
-
-            BufferedImage runSheet = ImageIO.read(Objects.requireNonNull(
-                    getClass().getResource(spriteBasePath + "Warrior_Run.png"),
-                    "Missing sprite sheet: " + spriteBasePath + "Warrior_Run.png"
-            ));
-
-            int frameWidth = 192;
-            int frameHeight = 192;
-            int idleFramesCount = 8;
-            int runFramesCount = 6;
-
-
-            // Slice idle
-            BufferedImage[] idleFrames = new BufferedImage[idleFramesCount];
-            for (int i = 0; i < idleFramesCount; i++) {
-                idleFrames[i] = idleSheet.getSubimage(i * frameWidth, 0, frameWidth, frameHeight);
-            }
-
-            // Slice run
-            BufferedImage[] runFrames = new BufferedImage[runFramesCount];
-            for (int i = 0; i < runFramesCount; i++) {
-                runFrames[i] = runSheet.getSubimage(i * frameWidth, 0, frameWidth, frameHeight);
-            }
-
-
-            // For now, all directions reuse same frames
-            idleDownAnim = new Animation(idleFrames, 8);
-            idleUpAnim = new Animation(idleFrames, 8);
-            idleLeftAnim = new Animation(idleFrames, 8);
-            idleRightAnim = new Animation(idleFrames, 8);
-
-            runDownAnim = new Animation(runFrames, 6); // slightly faster
-            runUpAnim = new Animation(runFrames, 6);
-            runLeftAnim = new Animation(runFrames, 6);
-            runRightAnim = new Animation(runFrames, 6);
+    // Every sheet initAnimations() may slice (all preloaded when lazy clips are off)
+    public static List<String> sheetPaths(String spriteBasePath) {
+        String base = spriteBasePath.endsWith("/") ? spriteBasePath : (spriteBasePath + "/");
+        return List.of(
+                base + "Warrior_Idle.png",
+                base + "Warrior_Run.png",
+                base + "Warrior_Attack1.png",
+                base + "Warrior_Attack2.png",
+                base + "Warrior_Guard.png"
+        );
+    }
 
+    // Sheets decoded before the first frame: every clip input can reach (combo, guard), so none of them
+    // is ever sliced on the render thread mid-game
+    public static List<String> warmupSheets(String spriteBasePath) {
+        return sheetPaths(spriteBasePath);
+    }
 
-            // Load attack and guard animations
-            attackAnimation = loadAnimation(spriteBasePath + "Warrior_Attack1.png", 4, 6);
-            attack2Animation = loadAnimation(spriteBasePath + "Warrior_Attack2.png", 4, 6);
-            guardAnimation = loadAnimation(spriteBasePath + "Warrior_Guard.png", 6, 10);
+    // Resolve the shared clips: idle/run are needed right away, the rest are registered lazily
+    private void initAnimations() {
+        try {
+            idleClip = AnimationClips.load(spriteBasePath + "Warrior_Idle.png", 8, 8);
+            runClip = AnimationClips.load(spriteBasePath + "Warrior_Run.png", 6, 6); // slightly faster
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Failed to load Warrior sprite sheets", e);
+        }
 
+        // Attack and guard: decoded on first use, a placeholder rather than a failure if missing
+        attack1Clip = AnimationClips.lazy(spriteBasePath + "Warrior_Attack1.png", 4, 6);
+        attack2Clip = AnimationClips.lazy(spriteBasePath + "Warrior_Attack2.png", 4, 6);
+        guardClip = AnimationClips.lazy(spriteBasePath + "Warrior_Guard.png", 6, 10);
 
-            // Pre-compute attack durations in ticks (frames * frameDelay)
-            if (attackAnimation != null) {
-                attackDurationTicks1 = attackAnimation.getFrameCount() * attackAnimation.getFrameDelay();
-            }
-            if (attack2Animation != null) {
-                attackDurationTicks2 = attack2Animation.getFrameCount() * attack2Animation.getFrameDelay();
-            }
+        // Attack durations in ticks (frames * frameDelay), known without decoding
+        attackDurationTicks1 = AnimationClips.durationTicks(attack1Clip);
+        attackDurationTicks2 = AnimationClips.durationTicks(attack2Clip);
 
-            // Start in idle facing down
-            currentAnimType = AnimationType.IDLE;
-            currentMoveType = MoveType.DOWN;
-            currentAnimation = idleDownAnim;
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to load Warrior sprite sheets", e);
-        }
+        // Start in idle facing down
+        currentAnimType = AnimationType.IDLE;
+        currentMoveType = MoveType.DOWN;
+        clipId = idleClip;
+        clipElapsed = 0;
     }
 
     public void takeHit(int dmg) {
@@ -218,6 +205,97 @@ public class Player {
         return dead;
     }
 
+    // Everything the simulation reads back next tick (see World.getChecksum): the same fields as writeState
+    public long hashState(long h) {
+        h = Checksum.mix(h, x);
+        h = Checksum.mix(h, y);
+        h = Checksum.mix(h, fx);
+        h = Checksum.mix(h, fy);
+        h = Checksum.mix(h, kbVx);
+        h = Checksum.mix(h, kbVy);
+        h = Checksum.mix(h, kbTicks);
+        h = Checksum.mix(h, kbStep[0]);
+        h = Checksum.mix(h, kbStep[1]);
+        h = Checksum.mix(h, invulnTimer);
+        h = Checksum.mix(h, hp);
+        h = Checksum.mix(h, facingLeft);
+        h = Checksum.mix(h, dead);
+        h = Checksum.mix(h, guarding);
+        h = Checksum.mix(h, attackPlaying);
+        h = Checksum.mix(h, lastAttackPressed);
+        h = Checksum.mix(h, inComboWindow);
+        h = Checksum.mix(h, currentAnimType.ordinal());
+        h = Checksum.mix(h, currentMoveType.ordinal());
+        h = Checksum.mix(h, attackPhase.ordinal());
+        h = Checksum.mix(h, clipSlot(clipId));
+        h = Checksum.mix(h, clipElapsed);
+        h = Checksum.mix(h, attackTicks);
+        h = Checksum.mix(h, attackId);
+        return Checksum.mix(h, comboWindowTicksRemaining);
+    }
+
+    // Snapshot of every mutable field (see WorldSnapshot). The clip is stored as which of our clips it is,
+    // not its registry id, so saves survive a different clip registration order.
+    public void writeState(ByteBuffer b) {
+        b.putFloat(x).putFloat(y);
+        b.putInt(fx).putInt(fy);
+        b.putFloat(kbVx).putFloat(kbVy).putInt(kbTicks);
+        b.putInt(kbStep[0]).putInt(kbStep[1]);
+        b.putFloat(invulnTimer).putInt(hp);
+        b.put((byte) ((facingLeft ? 1 : 0) | (dead ? 2 : 0) | (guarding ? 4 : 0) | (attackPlaying ? 8 : 0)
+                | (lastAttackPressed ? 16 : 0) | (inComboWindow ? 32 : 0)));
+        b.put((byte) currentAnimType.ordinal()).put((byte) currentMoveType.ordinal()).put((byte) attackPhase.ordinal());
+        b.put((byte) clipSlot(clipId)).putInt(clipElapsed);
+        b.putInt(attackTicks).putInt(attackId).putInt(comboWindowTicksRemaining);
+    }
+
+    public void readState(ByteBuffer b) {
+        x = b.getFloat();
+        y = b.getFloat();
+        fx = b.getInt();
+        fy = b.getInt();
+        kbVx = b.getFloat();
+        kbVy = b.getFloat();
+        kbTicks = b.getInt();
+        kbStep[0] = b.getInt();
+        kbStep[1] = b.getInt();
+        invulnTimer = b.getFloat();
+        hp = b.getInt();
+        int flags = b.get();
+        facingLeft = (flags & 1) != 0;
+        dead = (flags & 2) != 0;
+        guarding = (flags & 4) != 0;
+        attackPlaying = (flags & 8) != 0;
+        lastAttackPressed = (flags & 16) != 0;
+        inComboWindow = (flags & 32) != 0;
+        currentAnimType = ANIM_TYPES[b.get()];
+        currentMoveType = MOVE_TYPES[b.get()];
+        attackPhase = ATTACK_PHASES[b.get()];
+        clipId = clipForSlot(b.get());
+        clipElapsed = b.getInt();
+        attackTicks = b.getInt();
+        attackId = b.getInt();
+        comboWindowTicksRemaining = b.getInt();
+    }
+
+    private int clipSlot(int clip) {
+        if (clip == runClip) return 1;
+        if (clip == attack1Clip) return 2;
+        if (clip == attack2Clip) return 3;
+        if (clip == guardClip) return 4;
+        return 0;
+    }
+
+    private int clipForSlot(int slot) {
+        return switch (slot) {
+            case 1 -> runClip;
+            case 2 -> attack1Clip;
+            case 3 -> attack2Clip;
+            case 4 -> guardClip;
+            default -> idleClip;
+        };
+    }
+
     public float getHpPercent() {
         return hp / (float) MAX_HP;
     }
@@ -240,6 +318,14 @@ public class Player {
     }
 
     public void applyKnockbackFrom(float fromX, float fromY, float kbSpeed, int ticks) {
+        if (Fixed.ENABLED) {
+            syncFixed();
+            Fixed.scaleTo(fx - Fixed.fromFloat(fromX), fy - Fixed.fromFloat(fromY),
+                    Fixed.fromFloat(kbSpeed * (1f / WINDOW_TICKS)), kbStep);
+            kbTicks = Math.max(kbTicks, ticks);
+            return;
+        }
+
         float vx = x - fromX;
         float vy = y - fromY;
 
@@ -268,8 +354,13 @@ public class Player {
         return y + FOOT_OFFSET_Y - COLLIDER_H;
     }
 
-    // Axis-by-axis movement with collider resolution
+    // Swept movement against the map colliders: stops at the first contact and slides along it
     public void move(TiledMap map, float dx, float dy) {
+        if (Fixed.ENABLED) {
+            moveFixed(map, dx, dy);
+            return;
+        }
+
         // Knockback overrides input movement while active
         if (kbTicks > 0) {
             dx = kbVx * (1f / WINDOW_TICKS);
@@ -277,53 +368,61 @@ public class Player {
             kbTicks--;
         }
 
+        if (dx == 0f && dy == 0f) return;
 
-        // --- Horizontal movement ---
-        if (dx != 0) {
-            float newX = x + dx;
+        // Only clear tiles around the step (the common case): a few bit ops, no collider query
+        float colX = getColX(), colY = getColY();
+        if (!map.maySweepInto(colX, colY, COLLIDER_W, COLLIDER_H, dx, dy)) {
+            // Same float ops as a sweep that hits nothing, so both paths land on the same position
+            x = (colX + dx) + COLLIDER_W / 2f;
+            y = (colY + dy) - FOOT_OFFSET_Y + COLLIDER_H;
+            return;
+        }
 
-            // compute new collision box for proposed X
-            float colX = newX - COLLIDER_W / 2f;
-            float colY = getColY(); // uses current y
+        sweeper.move(map.getColliderIndex(), colX, colY, COLLIDER_W, COLLIDER_H, dx, dy);
+        x = sweeper.boxX + COLLIDER_W / 2f;
+        y = sweeper.boxY - FOOT_OFFSET_Y + COLLIDER_H;
+    }
 
-            for (Rect r : map.colliders) {
-                if (r.intersects(colX, colY, COLLIDER_W, COLLIDER_H)) {
-                    if (dx > 0) {
-                        // moving right → place feet just to the left of collider
-                        newX = r.x - COLLIDER_W / 2f;
-                    } else if (dx < 0) {
-                        // moving left → place feet just to the right of collider
-                        newX = r.x + r.w + COLLIDER_W / 2f;
-                    }
-                    // recompute colX for any further checks
-                    colX = newX - COLLIDER_W / 2f;
-                }
-            }
+    // Same rules as move() in 16.16: input is quantized once, everything after is int math
+    private void moveFixed(TiledMap map, float dx, float dy) {
+        syncFixed();
 
-            x = newX;
+        int fdx, fdy;
+        if (kbTicks > 0) {
+            fdx = kbStep[0];
+            fdy = kbStep[1];
+            kbTicks--;
+        } else {
+            fdx = Fixed.fromFloat(dx);
+            fdy = Fixed.fromFloat(dy);
         }
 
-        // --- Vertical movement ---
-        if (dy != 0) {
-            float newY = y + dy;
-
-            float colX = getColX(); // uses current x
-            float colY = newY + FOOT_OFFSET_Y - COLLIDER_H; // same logic as getColY() but with newY
-
-            for (Rect r : map.colliders) {
-                if (r.intersects(colX, colY, COLLIDER_W, COLLIDER_H)) {
-                    if (dy > 0) {
-                        // moving down → feet hit top of cliff
-                        newY = r.y - FOOT_OFFSET_Y;
-                    } else if (dy < 0) {
-                        // moving up → head hits something above (rare on cliffs)
-                        newY = r.y + r.h - FOOT_OFFSET_Y + COLLIDER_H;
-                    }
-                    colY = newY + FOOT_OFFSET_Y - COLLIDER_H;
-                }
-            }
+        if (fdx == 0 && fdy == 0) return;
 
-            y = newY;
+        int offX = Fixed.fromInt(COLLIDER_W) / 2;
+        int offY = Fixed.fromInt(FOOT_OFFSET_Y - COLLIDER_H);
+        int bx = fx - offX, by = fy + offY;
+
+        // The tile test is conservative, so skipping the resolver never changes the result
+        if (map.maySweepInto(Fixed.toFloat(bx), Fixed.toFloat(by), COLLIDER_W, COLLIDER_H, Fixed.toFloat(fdx), Fixed.toFloat(fdy))) {
+            sweeper.moveFixed(map.getColliderIndex(), bx, by, COLLIDER_W, COLLIDER_H, fdx, fdy);
+            fx = sweeper.fixedX + offX;
+            fy = sweeper.fixedY - offY;
+        } else {
+            fx += fdx;
+            fy += fdy;
+        }
+
+        x = Fixed.toFloat(fx);
+        y = Fixed.toFloat(fy);
+    }
+
+    // Picks up positions set from outside (spawn)
+    private void syncFixed() {
+        if (Fixed.toFloat(fx) != x || Fixed.toFloat(fy) != y) {
+            fx = Fixed.fromFloat(x);
+            fy = Fixed.fromFloat(y);
         }
     }
 
@@ -331,7 +430,7 @@ public class Player {
         if (dead) {
             // optionally play a death animation, or just idle
             // setAnimation(AnimationType.IDLE, currentMoveType);
-            if (currentAnimation != null) currentAnimation.update();
+            clipElapsed++;
             lastAttackPressed = attackPressed;
             return;
         }
@@ -352,10 +451,10 @@ public class Player {
             comboWindowTicksRemaining = 0;
 
             // Guard animation
-            if (!attackPlaying && guardAnimation != null) {
+            if (!attackPlaying) {
                 animType = AnimationType.GUARD;
                 setAnimation(animType, moveType);
-                if (currentAnimation != null) currentAnimation.update();
+                clipElapsed++;
                 lastAttackPressed = attackPressed;
                 return; // stop here so nothing overrides guard
             }
@@ -365,7 +464,7 @@ public class Player {
         // 1. Handle attack start and combo window usage
         if (attackJustPressed) {
             if (!attackPlaying) {
-                if (inComboWindow && attack2Animation != null) {
+                if (inComboWindow) {
                     // Start Attack2 from the combo window
                     attackPlaying = true;
                     attackPhase = AttackPhase.ATTACK2;
@@ -373,7 +472,7 @@ public class Player {
                     inComboWindow = false;
                     comboWindowTicksRemaining = 0;
                     attackId++;
-                } else if (attackAnimation != null) {
+                } else {
                     // Fresh Attack1
                     attackPlaying = true;
                     attackPhase = AttackPhase.ATTACK1;
@@ -401,7 +500,7 @@ public class Player {
                 attackPhase = AttackPhase.NONE;
                 attackTicks = 0;
 
-                if (finishedPhase == AttackPhase.ATTACK1 && attack2Animation != null) {
+                if (finishedPhase == AttackPhase.ATTACK1) {
                     inComboWindow = true;
                     comboWindowTicksRemaining = WINDOW_TICKS;
                 } else {
@@ -447,9 +546,7 @@ public class Player {
         setAnimation(animType, moveType);
 
         // 6. Advance current animation frame
-        if (currentAnimation != null) {
-            currentAnimation.update();
-        }
+        clipElapsed++;
 
         // Remember previous attack state for edge detection
         lastAttackPressed = attackPressed;
@@ -496,55 +593,50 @@ public class Player {
 
 
     // Helper to choose animation based on {AnimationType, MoveType}
-    private Animation getAnimation(AnimationType type, MoveType move) {
+    private int getAnimation(AnimationType type, MoveType move) {
         // Attack / guard ignore direction for now. We just flip with facingLeft
-        if (type == AnimationType.ATTACK) {
-            if (attackPhase == AttackPhase.ATTACK2 && attack2Animation != null) {
-                return attack2Animation;
-            }
-            return (attackAnimation != null) ? attackAnimation : idleDownAnim;
-        }
-        if (type == AnimationType.GUARD) {
-            return (guardAnimation != null) ? guardAnimation : idleDownAnim;
-        }
-
-        if (type == AnimationType.IDLE) {
-            return switch (move) {
-                case UP -> idleUpAnim;
-                case LEFT -> idleLeftAnim;
-                case RIGHT -> idleRightAnim;
-                case DOWN, NONE -> idleDownAnim;
-            };
-        } else { // RUN
-            return switch (move) {
-                case UP -> (runUpAnim != null ? runUpAnim : idleUpAnim);
-                case DOWN -> (runDownAnim != null ? runDownAnim : idleDownAnim);
-                case LEFT -> (runLeftAnim != null ? runLeftAnim : idleLeftAnim);
-                case RIGHT -> (runRightAnim != null ? runRightAnim : idleRightAnim);
-                case NONE -> idleDownAnim;
-            };
-        }
+        return switch (type) {
+            case ATTACK -> attackPhase == AttackPhase.ATTACK2 ? attack2Clip : attack1Clip;
+            case GUARD -> guardClip;
+            case RUN -> move == MoveType.NONE ? idleClip : runClip;
+            case IDLE -> idleClip;
+        };
     }
 
+    // Restarts playback only if anim type or direction changed
     private void setAnimation(AnimationType type, MoveType move) {
-        if (type == currentAnimType && move == currentMoveType && currentAnimation != null) return;
+        if (type == currentAnimType && move == currentMoveType) return;
         currentAnimType = type;
         currentMoveType = move;
-        currentAnimation = getAnimation(type, move);
-        if (currentAnimation != null) currentAnimation.reset();
+        clipId = getAnimation(type, move);
+        clipElapsed = 0;
+    }
+
+    @Override
+    public float getSortY() {
+        return y + FOOT_OFFSET_Y;
+    }
+
+    // Sprite (192x192, centered) plus the HP bar above it
+    @Override
+    public boolean isVisible(Camera cam) {
+        return x + SPRITE_HALF > cam.x && x - SPRITE_HALF < cam.x + cam.viewW
+                && y + SPRITE_HALF > cam.y && y - SPRITE_HALF - 12 < cam.y + cam.viewH;
     }
 
-    public void draw(Graphics2D g, Camera cam) {
+    @Override
+    public void draw(RenderBatch batch, Camera cam) {
         // blink while invulnerable.
         if (invulnTimer > 0f) {
             if (((int) (invulnTimer * 20)) % 2 == 0) return;
         }
 
-        int sx = (int) (x - cam.x);
-        int sy = (int) (y - cam.y);
+        int sx = (int) (x - cam.originX);
+        int sy = (int) (y - cam.originY);
 
-        Animation anim = (currentAnimation != null) ? currentAnimation : idleDownAnim;
-        BufferedImage frame = anim.getFrame();
+        AnimationClip clip = AnimationClips.get(clipId);
+        // Left-facing frames are pre-mirrored, so this is always a plain unscaled blit
+        BufferedImage frame = clip.frame(clipElapsed, facingLeft);
         int fw = frame.getWidth();
         int fh = frame.getHeight();
 
@@ -552,96 +644,52 @@ public class Player {
         int drawX = sx - fw / 2;
         int drawY = sy - fh / 2;
 
-        if (facingLeft) {
-            // Flip horizontally player sprite
-            g.drawImage(
-                    frame, drawX + fw, drawY, -fw, fh, null
-            );
-        } else {
-            // Normal drawing
-            g.drawImage(frame, drawX, drawY, null);
-        }
+        batch.sprite(frame, drawX, drawY);
 
         // --- HP bar (won’t show when fully dead) ---
         if (!dead) {
-            drawHpBar(g, cam, fw, fh);
+            drawHpBar(batch, cam, fw, fh);
         }
     }
 
-    // Loads animations
-    private Animation loadAnimation(String path, int frameCount, int frameDelay) {
-        try {
-            BufferedImage sheet = ImageIO.read(Objects.requireNonNull(
-                    getClass().getResource(path)
-            ));
-            int frameWidth = sheet.getWidth() / frameCount;
-            int frameHeight = sheet.getHeight();
-
-            BufferedImage[] frames = new BufferedImage[frameCount];
-            for (int i = 0; i < frameCount; i++) {
-                frames[i] = sheet.getSubimage(i * frameWidth, 0, frameWidth, frameHeight);
-            }
-            return new Animation(frames, frameDelay);
-        } catch (IOException e) {
-            e.printStackTrace();
-            // Fallback: 1x1 dummy frame to avoid crashes
-            BufferedImage dummy = new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB);
-            Graphics2D g2 = dummy.createGraphics();
-            g2.setColor(Color.MAGENTA);
-            g2.fillRect(0, 0, 16, 16);
-            g2.dispose();
-            return new Animation(new BufferedImage[]{dummy}, frameDelay);
-        }
-    }
-
-    private void drawHpBar(Graphics2D g, Camera cam, int frameW, int frameH) {
+    private void drawHpBar(RenderBatch batch, Camera cam, int frameW, int frameH) {
         // Bar size
         int barW = 42;
         int barH = 6;
 
         // Screen position: above the head
-        int sx = (int) (x - cam.x);
-        int sy = (int) (y - cam.y);
+        int sx = (int) (x - cam.originX);
+        int sy = (int) (y - cam.originY);
 
         int barX = sx - barW / 2;
         int barY = sy - frameH / 2 - 12;
 
-        // Background
-        g.setColor(new Color(0, 0, 0, 160));
-        g.fillRect(barX, barY, barW, barH);
-
-        // Fill
+        // Background, fill and border are drawn by the batch, all bars per colour at once
         float pct = (MAX_HP <= 0) ? 0f : (hp / (float) MAX_HP);
-        int fillW = (int) (barW * pct);
-
-        g.setColor(new Color(200, 50, 50, 220));
-        g.fillRect(barX, barY, fillW, barH);
-
-        // Border
-        g.setColor(new Color(255, 255, 255, 200));
-        g.drawRect(barX, barY, barW, barH);
+        batch.hpBar(barX, barY, barW, barH, pct);
     }
 
     //----- DEBUGGING -----
-    public void debugDrawCollision(Graphics2D g, Camera cam) {
+    private static final Color DEBUG_COLLIDER_COLOR = new Color(0, 255, 255, 120);
+    private static final Color DEBUG_HITBOX_COLOR = new Color(255, 0, 0, 150);
+
+    public void debugDrawCollision(RenderBatch batch, Camera cam) {
         float colX = getColX();
         float colY = getColY();
 
-        int sx = (int) (colX - cam.x);
-        int sy = (int) (colY - cam.y);
+        int sx = (int) (colX - cam.originX);
+        int sy = (int) (colY - cam.originY);
 
-        g.setColor(new Color(0, 255, 255, 120));
-        g.drawRect(sx, sy, COLLIDER_W, COLLIDER_H);
+        batch.debugRect(DEBUG_COLLIDER_COLOR, sx, sy, COLLIDER_W, COLLIDER_H, false);
     }
 
-    public void debugDrawAttackHitbox(Graphics2D g, Camera cam) {
+    public void debugDrawAttackHitbox(RenderBatch batch, Camera cam) {
         Rect hb = getAttackHitbox();
         if (hb == null) return;
 
-        int sx = hb.x - (int) cam.x;
-        int sy = hb.y - (int) cam.y;
+        int sx = hb.x - cam.originX;
+        int sy = hb.y - cam.originY;
 
-        g.setColor(new Color(255, 0, 0, 150));
-        g.drawRect(sx, sy, hb.w, hb.h);
+        batch.debugRect(DEBUG_HITBOX_COLOR, sx, sy, hb.w, hb.h, false);
     }
 }
@@ -0,0 +1,259 @@
+package main.java.game.entity;
+
+import main.java.game.Checksum;
+import main.java.game.gfx.Camera;
+import main.java.game.gfx.RenderBatch;
+import main.java.game.gfx.SpriteCache;
+import main.java.game.map.TiledMap;
+import main.java.game.physics.Rect;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Every arrow in flight, as parallel arrays preallocated to a fixed capacity (structure of arrays):
+// spawning fills the next slot and a stopped arrow gets the last live one swapped into its hole, so
+// there is no object per arrow and nothing is allocated after construction.
+// update() moves them all in one loop, stops the ones that hit a collider, leave the map or time out,
+// then buckets the survivors into a uniform grid (counting sort) so a hurtbox test only looks at the
+// arrows in the cells it covers. Arrows are hostile: only the player is tested against them.
+public class Projectiles {
+
+    public static final String ARROW_SHEET = "/main/resources/sprites/player/Red_Units/Archer/Arrow.png";
+
+    private static final int CELL = 64;
+    private static final int DIRECTIONS = 16; // pre-rotated arrow frames
+    private static final int DRAW_HALF = 32;  // 64x64 frames
+
+    private final int capacity;
+    private final float[] x, y, vx, vy;
+    private final int[] ttl; // ticks left, 0 = stopped (removed by the next update)
+    private int count = 0;
+    private long dropped = 0; // spawns refused because every slot was in use
+
+    // Grid over the live arrows, rebuilt by update():
+    // the ids in cell c are cellItems[cellStart[c] .. cellStart[c + 1])
+    private final int cols, rows;
+    private final int[] cellStart;
+    private final int[] cellItems;
+    private final int[] cellOf;
+
+    private static volatile BufferedImage[] arrowFrames;
+
+    public Projectiles(int capacity, int worldW, int worldH) {
+        this.capacity = capacity;
+        x = new float[capacity];
+        y = new float[capacity];
+        vx = new float[capacity];
+        vy = new float[capacity];
+        ttl = new int[capacity];
+
+        cols = Math.max(1, (worldW + CELL - 1) / CELL);
+        rows = Math.max(1, (worldH + CELL - 1) / CELL);
+        cellStart = new int[cols * rows + 1];
+        cellItems = new int[capacity];
+        cellOf = new int[capacity];
+    }
+
+    // Velocity in px/sec; false (and counted as dropped) when the pool is full
+    public boolean spawn(float px, float py, float pvx, float pvy, int ttlTicks) {
+        if (count == capacity) {
+            dropped++;
+            return false;
+        }
+        int i = count++;
+        x[i] = px;
+        y[i] = py;
+        vx[i] = pvx;
+        vy[i] = pvy;
+        ttl[i] = ttlTicks;
+        return true;
+    }
+
+    public void update(TiledMap map, double dt) {
+        float fdt = (float) dt;
+        int n = count;
+        int i = 0;
+        while (i < n) {
+            if (ttl[i] > 0) {
+                float nx = x[i] + vx[i] * fdt;
+                float ny = y[i] + vy[i] * fdt;
+                if (--ttl[i] > 0 && !map.blocksPoint(nx, ny)) {
+                    x[i] = nx;
+                    y[i] = ny;
+                    i++;
+                    continue;
+                }
+            }
+            // Stopped: the last live one takes this slot and is processed next
+            n--;
+            x[i] = x[n];
+            y[i] = y[n];
+            vx[i] = vx[n];
+            vy[i] = vy[n];
+            ttl[i] = ttl[n];
+        }
+        count = n;
+        rebuildGrid();
+    }
+
+    private void rebuildGrid() {
+        int cells = cellStart.length - 1;
+        Arrays.fill(cellStart, 0);
+        for (int i = 0; i < count; i++) {
+            int c = cellY(y[i]) * cols + cellX(x[i]);
+            cellOf[i] = c;
+            cellStart[c]++;
+        }
+        // Running ends, then filled back to front: each cell's counter walks down to its start
+        for (int c = 1; c < cells; c++) cellStart[c] += cellStart[c - 1];
+        cellStart[cells] = count;
+        for (int i = count - 1; i >= 0; i--) cellItems[--cellStart[cellOf[i]]] = i;
+    }
+
+    // Stops every live arrow whose point is inside the box; returns how many
+    public int hit(Rect box) {
+        int c0 = cellX(box.x), c1 = cellX(box.x + box.w - 1);
+        int r0 = cellY(box.y), r1 = cellY(box.y + box.h - 1);
+
+        int hits = 0;
+        for (int cy = r0; cy <= r1; cy++) {
+            for (int cx = c0; cx <= c1; cx++) {
+                int cell = cy * cols + cx;
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int i = cellItems[k];
+                    if (ttl[i] <= 0) continue;
+                    if (x[i] >= box.x && x[i] < box.x + box.w && y[i] >= box.y && y[i] < box.y + box.h) {
+                        ttl[i] = 0;
+                        hits++;
+                    }
+                }
+            }
+        }
+        return hits;
+    }
+
+    public void clear() {
+        count = 0;
+        rebuildGrid();
+    }
+
+    // --- Checksum / snapshots: live arrows only ---
+    // Slot order is not part of the state: it depends on where stopped arrows left holes, and a snapshot is
+    // written without them. So the hash sums one hash per arrow, and a quick load mid-fight checks the same.
+
+    public long hashState(long h) {
+        long sum = 0;
+        int live = 0;
+        for (int i = 0; i < count; i++) {
+            if (ttl[i] <= 0) continue;
+            long a = Checksum.mix(Checksum.START, x[i]);
+            a = Checksum.mix(a, y[i]);
+            a = Checksum.mix(a, vx[i]);
+            a = Checksum.mix(a, vy[i]);
+            sum += Checksum.mix(a, ttl[i]);
+            live++;
+        }
+        return Checksum.mix(Checksum.mix(h, live), sum);
+    }
+
+    public void writeState(ByteBuffer b) {
+        b.putInt(getLiveCount());
+        for (int i = 0; i < count; i++) {
+            if (ttl[i] <= 0) continue;
+            b.putFloat(x[i]).putFloat(y[i]).putFloat(vx[i]).putFloat(vy[i]).putInt(ttl[i]);
+        }
+    }
+
+    public void readState(ByteBuffer b) {
+        int n = b.getInt();
+        if (n > capacity) throw new IllegalArgumentException("Snapshot has " + n + " arrows, pool holds " + capacity);
+        for (int i = 0; i < n; i++) {
+            x[i] = b.getFloat();
+            y[i] = b.getFloat();
+            vx[i] = b.getFloat();
+            vy[i] = b.getFloat();
+            ttl[i] = b.getInt();
+        }
+        count = n;
+        rebuildGrid();
+    }
+
+    // --- Rendering ---
+
+    public void draw(RenderBatch batch, Camera cam) {
+        BufferedImage[] frames = arrowFrames();
+        for (int i = 0; i < count; i++) {
+            if (ttl[i] <= 0) continue;
+            int sx = (int) (x[i] - cam.originX);
+            int sy = (int) (y[i] - cam.originY);
+            if (sx < -DRAW_HALF || sy < -DRAW_HALF) continue;
+            if (sx > cam.viewW + DRAW_HALF || sy > cam.viewH + DRAW_HALF) continue;
+            batch.sprite(frames[direction(vx[i], vy[i])], sx - DRAW_HALF, sy - DRAW_HALF);
+        }
+    }
+
+    private static int direction(float dx, float dy) {
+        double turns = Math.atan2(dy, dx) / (2 * Math.PI); // -0.5 .. 0.5, y down
+        return (int) Math.round(turns * DIRECTIONS + DIRECTIONS) % DIRECTIONS;
+    }
+
+    // Builds the rotated frames ahead of the first draw; the arrow sheet must be decoded already
+    public static void warmUp() {
+        arrowFrames();
+    }
+
+    // Dev hot reload: a re-saved arrow sheet is rotated again on the next draw
+    public static void reload(String res) {
+        if (ARROW_SHEET.equals(res)) arrowFrames = null;
+    }
+
+    // The sheet points right; the other directions are rotated once (warmUp(), else the first draw)
+    private static BufferedImage[] arrowFrames() {
+        BufferedImage[] frames = arrowFrames;
+        if (frames != null) return frames;
+
+        BufferedImage src = SpriteCache.get(ARROW_SHEET);
+        frames = new BufferedImage[DIRECTIONS];
+        for (int d = 0; d < DIRECTIONS; d++) {
+            BufferedImage img = new BufferedImage(src.getWidth(), src.getHeight(), BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = img.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(src, AffineTransform.getRotateInstance(2 * Math.PI * d / DIRECTIONS,
+                    src.getWidth() / 2.0, src.getHeight() / 2.0), null);
+            g.dispose();
+            frames[d] = img;
+        }
+        arrowFrames = frames; // racing builders just build the same thing twice
+        return frames;
+    }
+
+    // --- Stats ---
+
+    public int getLiveCount() {
+        int n = 0;
+        for (int i = 0; i < count; i++) if (ttl[i] > 0) n++;
+        return n;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    // Off-map points are clamped into the border cells
+    private int cellX(float px) {
+        int c = (int) Math.floor(px / CELL);
+        return c < 0 ? 0 : Math.min(c, cols - 1);
+    }
+
+    private int cellY(float py) {
+        int r = (int) Math.floor(py / CELL);
+        return r < 0 ? 0 : Math.min(r, rows - 1);
+    }
+}
@@ -0,0 +1,22 @@
+package main.java.game.entity;
+
+// What an enemy unit is made of: its three sheets (frame counts are fixed by the asset pack), how close it
+// gets before attacking, and whether the attack is a melee swing or an arrow (see Projectiles).
+public record UnitType(String name,
+                       String idleSheet, int idleFrames,
+                       String runSheet, int runFrames,
+                       String attackSheet, int attackFrames,
+                       float stopRange, boolean ranged) {
+
+    public static final UnitType WARRIOR = new UnitType("warrior",
+            "Warrior_Idle.png", 8, "Warrior_Run.png", 6, "Warrior_Attack1.png", 4, 44f, false);
+
+    // Keeps its distance (still inside aggro range) and shoots
+    public static final UnitType ARCHER = new UnitType("archer",
+            "Archer_Idle.png", 6, "Archer_Run.png", 4, "Archer_Shoot.png", 8, 180f, true);
+
+    // Spawn "unit" property; unknown names are warriors
+    public static UnitType byName(String name) {
+        return ARCHER.name().equalsIgnoreCase(name) ? ARCHER : WARRIOR;
+    }
+}
@@ -0,0 +1,49 @@
+package main.java.game.gfx;
+
+import java.awt.image.BufferedImage;
+
+// Immutable looping frame sequence: frames (+ pre-mirrored copies for facing left) and ticks per frame.
+// One instance per sheet/timing, shared by every entity playing it (see AnimationClips).
+// Playback state is just the clip id + ticks elapsed, kept by the entity; the frame index derives from it.
+public final class AnimationClip {
+
+    public final int id;
+    public final String sheetPath;
+    public final int sliceCount;    // frames requested from the sheet (kept for reloads, even on a placeholder)
+    public final int frameDelay;    // ticks per frame
+    public final int durationTicks; // one full loop
+
+    private final BufferedImage[] frames;
+    private final BufferedImage[] mirroredFrames;
+
+    AnimationClip(int id, String sheetPath, int sliceCount, BufferedImage[] frames, BufferedImage[] mirroredFrames,
+                  int frameDelay) {
+        if (frames == null || frames.length == 0) {
+            throw new IllegalArgumentException("Animation needs at least one frame");
+        }
+        if (mirroredFrames == null || mirroredFrames.length != frames.length) {
+            throw new IllegalArgumentException("Mirrored frames must match the frames");
+        }
+        this.id = id;
+        this.sheetPath = sheetPath;
+        this.sliceCount = sliceCount;
+        this.frames = frames;
+        this.mirroredFrames = mirroredFrames;
+        this.frameDelay = Math.max(1, frameDelay);
+        this.durationTicks = frames.length * this.frameDelay;
+    }
+
+    public int getFrameCount() {
+        return frames.length;
+    }
+
+    // Frame shown `elapsed` ticks into the clip (looping)
+    public int frameIndex(int elapsed) {
+        return (elapsed % durationTicks) / frameDelay;
+    }
+
+    public BufferedImage frame(int elapsed, boolean mirrored) {
+        int i = frameIndex(elapsed);
+        return mirrored ? mirroredFrames[i] : frames[i];
+    }
+}
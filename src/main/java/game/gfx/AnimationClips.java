@@ -0,0 +1,152 @@
+package main.java.game.gfx;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Registry of every AnimationClip, one per (sheet, frame count, delay), addressed by int id.
+// Entities keep ids, never clips: a hot reload swaps the clip behind an id and every entity playing it
+// shows the new frames on its next draw, playback state untouched.
+// Registering is cheap; rarely used clips (lazy) are only decoded the first time they are drawn.
+// Sheets preloaded by the AssetPreloader (the warm-up list) only cost a slice when that happens.
+public final class AnimationClips {
+
+    private static final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private static final Object lock = new Object();
+
+    // Per id: what to build, and the clip once built (null until first use)
+    private static volatile String[] paths = new String[0];
+    private static volatile int[] counts = new int[0];
+    private static volatile int[] delays = new int[0];
+    private static volatile AnimationClip[] clips = new AnimationClip[0];
+
+    private AnimationClips() {
+    }
+
+    // Built right away: a missing sheet throws here, not mid-game
+    public static int load(String sheetPath, int frameCount, int frameDelay) {
+        int id = register(sheetPath, frameCount, frameDelay);
+        if (clips[id] == null) build(id, true);
+        return id;
+    }
+
+    // Built on first draw; a missing/broken sheet becomes a magenta placeholder then
+    // (replaced once the sheet is fixed and reloaded)
+    public static int lazy(String sheetPath, int frameCount, int frameDelay) {
+        return register(sheetPath, frameCount, frameDelay);
+    }
+
+    private static int register(String sheetPath, int frameCount, int frameDelay) {
+        String key = sheetPath + "#" + frameCount + "#" + frameDelay;
+        Integer id = ids.get(key);
+        if (id != null) return id;
+
+        synchronized (lock) {
+            id = ids.get(key);
+            if (id != null) return id;
+
+            int newId = clips.length;
+            paths = Arrays.copyOf(paths, newId + 1);
+            paths[newId] = sheetPath;
+            counts = Arrays.copyOf(counts, newId + 1);
+            counts[newId] = frameCount;
+            delays = Arrays.copyOf(delays, newId + 1);
+            delays[newId] = Math.max(1, frameDelay);
+            clips = Arrays.copyOf(clips, newId + 1); // published last: ids below clips.length are complete
+            ids.put(key, newId);
+            return newId;
+        }
+    }
+
+    public static AnimationClip get(int id) {
+        AnimationClip c = clips[id];
+        return c != null ? c : build(id, false);
+    }
+
+    // Known without decoding anything (placeholders keep the requested frame count)
+    public static int durationTicks(int id) {
+        return counts[id] * delays[id];
+    }
+
+    private static AnimationClip build(int id, boolean strict) {
+        synchronized (lock) {
+            AnimationClip c = clips[id];
+            if (c != null) return c;
+
+            String path = paths[id];
+            try {
+                c = build(id, path, counts[id], delays[id]);
+            } catch (RuntimeException e) {
+                if (strict) throw e;
+                e.printStackTrace();
+                c = placeholder(id, path, counts[id], delays[id]);
+            }
+            publish(c);
+            return c;
+        }
+    }
+
+    // Builds every registered clip cut from these sheets now, so their first use costs nothing
+    public static void warmUp(Collection<String> sheetPaths) {
+        int n = clips.length;
+        for (int id = 0; id < n; id++) {
+            if (clips[id] == null && sheetPaths.contains(paths[id])) build(id, true);
+        }
+    }
+
+    private static void publish(AnimationClip c) {
+        AnimationClip[] next = clips.clone();
+        next[c.id] = c;
+        clips = next;
+    }
+
+    public static int size() {
+        return clips.length;
+    }
+
+    // Clips actually built so far (the rest were registered but never drawn)
+    public static int residentCount() {
+        int n = 0;
+        for (AnimationClip c : clips) {
+            if (c != null) n++;
+        }
+        return n;
+    }
+
+    // Hot reload: SpriteCache already holds the new sheet, rebuild every built clip cut from it under the same ids.
+    // Clips not built yet pick the new sheet up on first use.
+    public static void reload(String sheetPath) {
+        synchronized (lock) {
+            AnimationClip[] next = clips.clone();
+            for (AnimationClip c : next) {
+                if (c == null || !c.sheetPath.equals(sheetPath)) continue;
+                try {
+                    next[c.id] = build(c.id, c.sheetPath, c.sliceCount, c.frameDelay);
+                } catch (RuntimeException e) {
+                    System.err.println("Clip reload failed for " + sheetPath + ": " + e.getMessage());
+                }
+            }
+            clips = next;
+        }
+    }
+
+    private static AnimationClip build(int id, String sheetPath, int frameCount, int frameDelay) {
+        return new AnimationClip(id, sheetPath, frameCount,
+                SpriteCache.frames(sheetPath, frameCount), SpriteCache.mirroredFrames(sheetPath, frameCount), frameDelay);
+    }
+
+    private static AnimationClip placeholder(int id, String sheetPath, int frameCount, int frameDelay) {
+        // 16x16 magenta frame to avoid crashes, repeated so the clip keeps its timing
+        BufferedImage dummy = new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2 = dummy.createGraphics();
+        g2.setColor(Color.MAGENTA);
+        g2.fillRect(0, 0, 16, 16);
+        g2.dispose();
+        BufferedImage[] frames = new BufferedImage[frameCount];
+        Arrays.fill(frames, dummy);
+        return new AnimationClip(id, sheetPath, frameCount, frames, frames, frameDelay);
+    }
+}
@@ -0,0 +1,89 @@
+package main.java.game.gfx;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.ObjIntConsumer;
+
+// Splits the backbuffer into horizontal bands and runs the same painter over each band in parallel,
+// every band through its own Raster clipped to its rows (band i: rows height * i / n .. height * (i + 1) / n,
+// see RenderBatch.bucketBands); render() returns once all bands are done.
+// Each pixel sees exactly the draw calls, in the order, a single full-frame Raster would give it,
+// so the output is pixel-identical to the single-threaded renderer whatever the band count.
+// The painter must only read shared state (map, camera, a filled RenderBatch) while bands run.
+public class BandRenderer implements AutoCloseable {
+
+    private final Raster[] bands;
+    private final ExecutorService pool;
+    private final List<Callable<Void>> tasks = new ArrayList<>();
+
+    private volatile ObjIntConsumer<Raster> painter;
+
+    public BandRenderer(BufferedImage target, int bandCount) {
+        int n = Math.max(1, Math.min(bandCount, target.getHeight()));
+        bands = new Raster[n];
+        for (int i = 0; i < n; i++) {
+            Raster r = new Raster(target);
+            r.setClip(0, target.getHeight() * i / n, target.getWidth(), target.getHeight() * (i + 1) / n);
+            bands[i] = r;
+        }
+
+        // The calling thread paints band 0 itself
+        pool = n == 1 ? null : Executors.newFixedThreadPool(n - 1, runnable -> {
+            Thread t = new Thread(runnable, "render-band");
+            t.setDaemon(true);
+            return t;
+        });
+        for (int i = 1; i < n; i++) {
+            Raster band = bands[i];
+            int index = i;
+            tasks.add(() -> {
+                painter.accept(band, index);
+                return null;
+            });
+        }
+    }
+
+    public int getBandCount() {
+        return bands.length;
+    }
+
+    // painter(raster, band index)
+    public void render(ObjIntConsumer<Raster> painter) {
+        if (pool == null) {
+            painter.accept(bands[0], 0);
+            return;
+        }
+
+        this.painter = painter;
+        List<Future<Void>> pending = new ArrayList<>(tasks.size());
+        for (Callable<Void> task : tasks) pending.add(pool.submit(task));
+        try {
+            painter.accept(bands[0], 0);
+        } finally {
+            // Join every band before anyone touches the backbuffer again, even if ours failed
+            for (Future<Void> f : pending) await(f);
+        }
+    }
+
+    private static void await(Future<Void> f) {
+        try {
+            f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while rendering", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Band render failed", e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        if (pool != null) pool.shutdownNow();
+    }
+}
@@ -3,6 +3,10 @@ package main.java.game.gfx;
 
 public class Camera {
     public float x, y; // top-left
+
+    // Integer top-left everything is drawn against this frame (floor of x, y): map surface, tiles, props,
+    // units and arrows all subtract the same pixel, so nothing slides against the ground at fractional x
+    public int originX, originY;
     public final int viewW, viewH;
     private final int worldW, worldH;
 
@@ -14,6 +18,14 @@ public class Camera {
         this.viewH = viewH;
         this.worldW = worldW;
         this.worldH = worldH;
+        this.originX = (int) Math.floor(x);
+        this.originY = (int) Math.floor(y);
+    }
+
+    // Renderer, once per frame before drawing anything
+    public void snapOrigin() {
+        originX = (int) Math.floor(x);
+        originY = (int) Math.floor(y);
     }
 
 
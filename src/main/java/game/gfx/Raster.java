@@ -0,0 +1,188 @@
+package main.java.game.gfx;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+
+// Software blitter writing straight into an INT_ARGB backbuffer's pixel array, no Graphics2D in between.
+// Specialized loops per case: opaque rows (System.arraycopy), alpha-keyed tiles (fully transparent
+// pixels skipped, opaque ones stored, edges blended), and sprites as pre-cut runs, which also cover
+// mirrored frames (rows read right to left) and constant-alpha fades. Sources are pre-extracted int[] ARGB
+// (see SpritePixels).
+// Blending assumes an opaque destination, which the backbuffer is (cleared every frame).
+// Everything is clipped to a clip rect (whole target by default).
+public final class Raster {
+
+    public final int width, height;
+    public final int[] pixels;
+
+    private int clipX0, clipY0, clipX1, clipY1; // [x0, x1) x [y0, y1)
+
+    // Several Rasters over one image are fine as long as their clips don't overlap (see BandRenderer)
+    public Raster(BufferedImage target) {
+        if (target.getType() != BufferedImage.TYPE_INT_ARGB && target.getType() != BufferedImage.TYPE_INT_RGB) {
+            throw new IllegalArgumentException("Raster needs an INT_ARGB/INT_RGB image, got type " + target.getType());
+        }
+        this.width = target.getWidth();
+        this.height = target.getHeight();
+        this.pixels = ((DataBufferInt) target.getRaster().getDataBuffer()).getData();
+        resetClip();
+    }
+
+    public void setClip(int x0, int y0, int x1, int y1) {
+        clipX0 = Math.max(0, x0);
+        clipY0 = Math.max(0, y0);
+        clipX1 = Math.min(width, x1);
+        clipY1 = Math.min(height, y1);
+    }
+
+    public void resetClip() {
+        setClip(0, 0, width, height);
+    }
+
+    public int getClipX0() {
+        return clipX0;
+    }
+
+    public int getClipX1() {
+        return clipX1;
+    }
+
+    public int getClipY0() {
+        return clipY0;
+    }
+
+    public int getClipY1() {
+        return clipY1;
+    }
+
+    public void clear(int argb) {
+        for (int y = clipY0; y < clipY1; y++) {
+            Arrays.fill(pixels, y * width + clipX0, y * width + clipX1, argb);
+        }
+    }
+
+    // Opaque source rect (sx, sy, w, h) of a src with row stride srcW, to (dx, dy): one arraycopy per row
+    public void copyOpaque(int[] src, int srcW, int sx, int sy, int w, int h, int dx, int dy) {
+        int x0 = Math.max(dx, clipX0), x1 = Math.min(dx + w, clipX1);
+        int y0 = Math.max(dy, clipY0), y1 = Math.min(dy + h, clipY1);
+        if (x0 >= x1 || y0 >= y1) return;
+
+        int len = x1 - x0;
+        int s = (sy + y0 - dy) * srcW + sx + x0 - dx;
+        int d = y0 * width + x0;
+        for (int y = y0; y < y1; y++, s += srcW, d += width) {
+            System.arraycopy(src, s, pixels, d, len);
+        }
+    }
+
+    // Sprite with transparency: alpha 0 skipped, 255 stored, anything else blended
+    public void blitKeyed(int[] src, int srcW, int sx, int sy, int w, int h, int dx, int dy) {
+        int x0 = Math.max(dx, clipX0), x1 = Math.min(dx + w, clipX1);
+        int y0 = Math.max(dy, clipY0), y1 = Math.min(dy + h, clipY1);
+        if (x0 >= x1 || y0 >= y1) return;
+
+        int len = x1 - x0;
+        int s = (sy + y0 - dy) * srcW + sx + x0 - dx;
+        int d = y0 * width + x0;
+        int[] dst = pixels;
+        for (int y = y0; y < y1; y++, s += srcW, d += width) {
+            for (int i = 0; i < len; i++) {
+                int p = src[s + i];
+                int a = p >>> 24;
+                if (a == 0) continue;
+                dst[d + i] = a == 255 ? p : blend(p, dst[d + i], a);
+            }
+        }
+    }
+
+    // Sprite pre-cut into per-row runs (see SpritePixels): span rows [rowStart[y], rowStart[y + 1]) hold
+    // (start, len) pairs, len > 0 an opaque run, len < 0 a run of -len partly transparent pixels.
+    // Fully transparent pixels are in no run at all. Mirrored reads each row right to left;
+    // alpha (0..256) fades the whole sprite, 256 leaves opaque runs as plain copies.
+    public void blitSpans(int[] src, int w, int h, int[] spans, int[] rowStart, int dx, int dy,
+                          boolean mirrored, int alpha) {
+        if (alpha <= 0) return;
+        int x0 = Math.max(dx, clipX0), x1 = Math.min(dx + w, clipX1);
+        int y0 = Math.max(dy, clipY0), y1 = Math.min(dy + h, clipY1);
+        if (x0 >= x1 || y0 >= y1) return;
+
+        boolean faded = alpha < 256;
+        int step = mirrored ? -1 : 1;
+        int[] dst = pixels;
+        for (int y = y0; y < y1; y++) {
+            int sy = y - dy;
+            int srow = sy * w;
+            int drow = y * width;
+            for (int k = rowStart[sy], end = rowStart[sy + 1]; k < end; k += 2) {
+                int start = spans[k], len = spans[k + 1];
+                boolean opaque = len > 0;
+                if (!opaque) len = -len;
+
+                // Run in destination columns, clipped
+                int a = mirrored ? dx + w - start - len : dx + start;
+                int b = Math.min(a + len, x1);
+                if (a < x0) a = x0;
+                if (a >= b) continue;
+
+                // Source pixel under destination column a
+                int s = mirrored ? srow + w - 1 - (a - dx) : srow + a - dx;
+                if (faded) {
+                    for (int x = a; x < b; x++, s += step) {
+                        int p = src[s];
+                        int pa = ((p >>> 24) * alpha) >>> 8;
+                        if (pa != 0) dst[drow + x] = blend(p, dst[drow + x], pa);
+                    }
+                } else if (opaque) {
+                    if (!mirrored) {
+                        System.arraycopy(src, s, dst, drow + a, b - a);
+                    } else {
+                        for (int x = drow + a, xe = drow + b; x < xe; x++, s--) dst[x] = src[s];
+                    }
+                } else {
+                    for (int x = a; x < b; x++, s += step) {
+                        int p = src[s];
+                        dst[drow + x] = blend(p, dst[drow + x], p >>> 24);
+                    }
+                }
+            }
+        }
+    }
+
+    // Solid colour (any alpha) over the rect, like Graphics2D.fillRect
+    public void fillRect(int argb, int x, int y, int w, int h) {
+        int x0 = Math.max(x, clipX0), x1 = Math.min(x + w, clipX1);
+        int y0 = Math.max(y, clipY0), y1 = Math.min(y + h, clipY1);
+        if (x0 >= x1 || y0 >= y1) return;
+
+        int a = argb >>> 24;
+        if (a == 0) return;
+        for (int row = y0; row < y1; row++) {
+            int d = row * width;
+            if (a == 255) {
+                Arrays.fill(pixels, d + x0, d + x1, argb);
+            } else {
+                for (int i = d + x0; i < d + x1; i++) pixels[i] = blend(argb, pixels[i], a);
+            }
+        }
+    }
+
+    // 1px outline covering (w + 1) x (h + 1), like Graphics2D.drawRect
+    public void drawRect(int argb, int x, int y, int w, int h) {
+        if (w < 0 || h < 0) return;
+        fillRect(argb, x, y, w + 1, 1);
+        if (h == 0) return;
+        fillRect(argb, x, y + h, w + 1, 1);
+        fillRect(argb, x, y + 1, 1, h - 1);
+        if (w > 0) fillRect(argb, x + w, y + 1, 1, h - 1);
+    }
+
+    // src over an opaque dst with coverage a (1..254): two channels per multiply
+    private static int blend(int src, int dst, int a) {
+        int sa = a + (a >>> 7); // 0..255 -> 0..256
+        int da = 256 - sa;
+        int rb = (((src & 0xFF00FF) * sa + (dst & 0xFF00FF) * da) >>> 8) & 0xFF00FF;
+        int g = (((src & 0x00FF00) * sa + (dst & 0x00FF00) * da) >>> 8) & 0x00FF00;
+        return 0xFF000000 | rb | g;
+    }
+}
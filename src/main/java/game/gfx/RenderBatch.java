@@ -0,0 +1,316 @@
+package main.java.game.gfx;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Collects the entity draw calls of a frame and replays them grouped by Graphics2D state:
+// sprites (submission order), then HP bars (one colour switch per pass), then debug boxes (grouped by colour).
+// Fading sprites use cached pre-faded frames (alpha quantized to FADE_LEVELS), so they are plain blits
+// in the sprite pass instead of an AlphaComposite swap per entity.
+// Storage is parallel arrays reused across frames: submitting allocates nothing once they have grown.
+// flush(Raster) replays the same calls through the int[] blitter instead; fades are then a constant-alpha
+// loop over the original frame, no pre-faded copies.
+public class RenderBatch {
+
+    public static final int FADE_LEVELS = 16;
+
+    private static final Color HP_BG = new Color(0, 0, 0, 160);
+    private static final Color HP_FILL = new Color(200, 50, 50, 220);
+    private static final Color HP_BORDER = new Color(255, 255, 255, 200);
+
+    // Pre-faded copies per source frame, built lazily (only frames that actually fade out get any)
+    private static final Map<BufferedImage, BufferedImage[]> fadeCache = new ConcurrentHashMap<>();
+
+    // Off: fading sprites are drawn after the opaque ones, one composite per distinct alpha
+    private boolean quantizeFades = true;
+
+    // Raster mode: fades are kept as per-sprite alpha for flush(Raster)
+    private boolean rasterMode = false;
+
+    // Sprites: image + x, y (+ alpha 0..256, raster mode only)
+    private BufferedImage[] spriteImg = new BufferedImage[64];
+    private int[] spriteXY = new int[64 * 2];
+    private int[] spriteAlpha = new int[64];
+    private int spriteCount = 0;
+
+    // Fading sprites when not quantized: image + x, y + alpha
+    private BufferedImage[] fadeImg = new BufferedImage[16];
+    private int[] fadeXY = new int[16 * 2];
+    private float[] fadeAlpha = new float[16];
+    private long[] fadeOrder = new long[16]; // sort keys: alpha bits << 32 | index
+    private int fadeCount = 0;
+
+    // HP bars: x, y, w, h, fillW
+    private int[] bars = new int[64 * 5];
+    private int barCount = 0;
+
+    // Debug boxes: colour + x, y, w, h (+ fill flag)
+    private Color[] debugColor = new Color[64];
+    private int[] debugRect = new int[64 * 5];
+    private long[] debugOrder = new long[64]; // sort keys: colour << 32 | index
+    private int debugCount = 0;
+
+    // Band buckets (see bucketBands): band b covers rows [bandRows[b], bandRows[b + 1]) and draws the sprites
+    // bandItems[bandStart[b] .. bandStart[b + 1]), in submission order
+    private int[] bandRows = new int[1];
+    private int[] bandStart = new int[1];
+    private int[] bandCursor = new int[0];
+    private int[] bandItems = new int[64];
+
+    public void setQuantizeFades(boolean quantizeFades) {
+        this.quantizeFades = quantizeFades;
+    }
+
+    public void setRasterMode(boolean rasterMode) {
+        this.rasterMode = rasterMode;
+    }
+
+    public void begin() {
+        Arrays.fill(spriteImg, 0, spriteCount, null);
+        Arrays.fill(fadeImg, 0, fadeCount, null);
+        Arrays.fill(debugColor, 0, debugCount, null);
+        spriteCount = 0;
+        fadeCount = 0;
+        barCount = 0;
+        debugCount = 0;
+    }
+
+    public void sprite(BufferedImage img, int x, int y) {
+        addSprite(img, x, y, 256);
+    }
+
+    private void addSprite(BufferedImage img, int x, int y, int alpha) {
+        if (spriteCount == spriteImg.length) {
+            spriteImg = Arrays.copyOf(spriteImg, spriteCount * 2);
+            spriteXY = Arrays.copyOf(spriteXY, spriteCount * 4);
+            spriteAlpha = Arrays.copyOf(spriteAlpha, spriteCount * 2);
+        }
+        spriteImg[spriteCount] = img;
+        spriteXY[spriteCount * 2] = x;
+        spriteXY[spriteCount * 2 + 1] = y;
+        spriteAlpha[spriteCount] = alpha;
+        spriteCount++;
+    }
+
+    public void sprite(BufferedImage img, int x, int y, float alpha) {
+        if (alpha >= 1f) {
+            sprite(img, x, y);
+            return;
+        }
+        if (alpha <= 0f) return;
+
+        if (rasterMode) {
+            // Exact alpha, in submission order like any other sprite
+            int a = Math.round(alpha * 256f);
+            if (a > 0) addSprite(img, x, y, a);
+            return;
+        }
+
+        if (quantizeFades) {
+            int level = Math.round(alpha * FADE_LEVELS);
+            if (level >= FADE_LEVELS) {
+                sprite(img, x, y);
+            } else if (level > 0) {
+                sprite(fadedFrame(img, level), x, y);
+            }
+            return;
+        }
+
+        if (fadeCount == fadeImg.length) {
+            fadeImg = Arrays.copyOf(fadeImg, fadeCount * 2);
+            fadeXY = Arrays.copyOf(fadeXY, fadeCount * 4);
+            fadeAlpha = Arrays.copyOf(fadeAlpha, fadeCount * 2);
+            fadeOrder = Arrays.copyOf(fadeOrder, fadeCount * 2);
+        }
+        fadeImg[fadeCount] = img;
+        fadeXY[fadeCount * 2] = x;
+        fadeXY[fadeCount * 2 + 1] = y;
+        fadeAlpha[fadeCount] = alpha;
+        fadeCount++;
+    }
+
+    public void hpBar(int x, int y, int w, int h, float pct) {
+        if (barCount * 5 == bars.length) bars = Arrays.copyOf(bars, bars.length * 2);
+        int i = barCount * 5;
+        bars[i] = x;
+        bars[i + 1] = y;
+        bars[i + 2] = w;
+        bars[i + 3] = h;
+        bars[i + 4] = (int) (w * pct);
+        barCount++;
+    }
+
+    public void debugRect(Color color, int x, int y, int w, int h, boolean fill) {
+        if (debugCount == debugColor.length) {
+            debugColor = Arrays.copyOf(debugColor, debugCount * 2);
+            debugRect = Arrays.copyOf(debugRect, debugCount * 10);
+            debugOrder = Arrays.copyOf(debugOrder, debugCount * 2);
+        }
+        int i = debugCount * 5;
+        debugColor[debugCount] = color;
+        debugRect[i] = x;
+        debugRect[i + 1] = y;
+        debugRect[i + 2] = w;
+        debugRect[i + 3] = h;
+        debugRect[i + 4] = fill ? 1 : 0;
+        debugCount++;
+    }
+
+    public void flush(Graphics2D g) {
+        // 1. Sprites: no state at all, default SrcOver composite
+        for (int i = 0; i < spriteCount; i++) {
+            g.drawImage(spriteImg[i], spriteXY[i * 2], spriteXY[i * 2 + 1], null);
+        }
+
+        // 1b. Unquantized fades: one composite per distinct alpha
+        if (fadeCount > 0) {
+            // Positive floats order like their bits; the index keeps equal alphas in submission order
+            for (int i = 0; i < fadeCount; i++) fadeOrder[i] = (long) Float.floatToIntBits(fadeAlpha[i]) << 32 | i;
+            Arrays.sort(fadeOrder, 0, fadeCount);
+
+            Composite old = g.getComposite();
+            float current = -1f;
+            for (int k = 0; k < fadeCount; k++) {
+                int i = (int) fadeOrder[k];
+                if (fadeAlpha[i] != current) {
+                    current = fadeAlpha[i];
+                    g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, current));
+                }
+                g.drawImage(fadeImg[i], fadeXY[i * 2], fadeXY[i * 2 + 1], null);
+            }
+            g.setComposite(old);
+        }
+
+        // 2. HP bars, one pass per colour
+        if (barCount > 0) {
+            g.setColor(HP_BG);
+            for (int i = 0; i < barCount * 5; i += 5) g.fillRect(bars[i], bars[i + 1], bars[i + 2], bars[i + 3]);
+            g.setColor(HP_FILL);
+            for (int i = 0; i < barCount * 5; i += 5) g.fillRect(bars[i], bars[i + 1], bars[i + 4], bars[i + 3]);
+            g.setColor(HP_BORDER);
+            for (int i = 0; i < barCount * 5; i += 5) g.drawRect(bars[i], bars[i + 1], bars[i + 2], bars[i + 3]);
+        }
+
+        // 3. Debug boxes grouped by colour
+        if (debugCount > 0) {
+            for (int i = 0; i < debugCount; i++) debugOrder[i] = (long) debugColor[i].getRGB() << 32 | i;
+            Arrays.sort(debugOrder, 0, debugCount);
+
+            Color current = null;
+            for (int k = 0; k < debugCount; k++) {
+                int i = (int) debugOrder[k];
+                if (!debugColor[i].equals(current)) {
+                    current = debugColor[i];
+                    g.setColor(current);
+                }
+                int r = i * 5;
+                if (debugRect[r + 4] != 0) g.fillRect(debugRect[r], debugRect[r + 1], debugRect[r + 2], debugRect[r + 3]);
+                else g.drawRect(debugRect[r], debugRect[r + 1], debugRect[r + 2], debugRect[r + 3]);
+            }
+        }
+
+        begin();
+    }
+
+    // Same passes as flush(Graphics2D), through the int[] blitter
+    public void flush(Raster r) {
+        replay(r);
+        begin();
+    }
+
+    // Draws the whole batch into r's clip without consuming it
+    public void replay(Raster r) {
+        for (int i = 0; i < spriteCount; i++) blitSprite(r, i);
+        replayOverlays(r);
+    }
+
+    // Once the frame is submitted, before BandRenderer runs: sorts the sprites into the rows of `bandCount`
+    // equal bands over `height` (BandRenderer's split), a sprite into every band it overlaps
+    public void bucketBands(int bandCount, int height) {
+        if (bandRows.length != bandCount + 1) {
+            bandRows = new int[bandCount + 1];
+            bandStart = new int[bandCount + 1];
+            bandCursor = new int[bandCount];
+        }
+        for (int b = 0; b <= bandCount; b++) bandRows[b] = height * b / bandCount;
+
+        // Count per band, prefix sum into starts, then fill in submission order
+        Arrays.fill(bandStart, 0);
+        for (int i = 0; i < spriteCount; i++) {
+            int y0 = spriteXY[i * 2 + 1], y1 = y0 + spriteImg[i].getHeight();
+            if (y1 <= 0 || y0 >= height) continue;
+            for (int b = bandOf(y0), last = bandOf(y1 - 1); b <= last; b++) bandStart[b + 1]++;
+        }
+        for (int b = 0; b < bandCount; b++) bandStart[b + 1] += bandStart[b];
+        if (bandItems.length < bandStart[bandCount]) bandItems = new int[bandStart[bandCount] * 2];
+
+        System.arraycopy(bandStart, 0, bandCursor, 0, bandCount);
+        for (int i = 0; i < spriteCount; i++) {
+            int y0 = spriteXY[i * 2 + 1], y1 = y0 + spriteImg[i].getHeight();
+            if (y1 <= 0 || y0 >= height) continue;
+            for (int b = bandOf(y0), last = bandOf(y1 - 1); b <= last; b++) bandItems[bandCursor[b]++] = i;
+        }
+    }
+
+    // Band `band` of the last bucketBands(): only its own sprites, then the overlays (clipped fills).
+    // Read-only, so every band replays in parallel; per pixel the calls and their order match replay(r).
+    public void replay(Raster r, int band) {
+        for (int k = bandStart[band]; k < bandStart[band + 1]; k++) blitSprite(r, bandItems[k]);
+        replayOverlays(r);
+    }
+
+    // Band holding the row, rows outside the frame clamp to the first / last band
+    private int bandOf(int row) {
+        int b = 0;
+        while (b < bandCursor.length - 1 && bandRows[b + 1] <= row) b++;
+        return b;
+    }
+
+    private void blitSprite(Raster r, int i) {
+        SpritePixels p = SpritePixels.of(spriteImg[i]);
+        int a = spriteAlpha[i];
+        if (a >= 256) p.blit(r, spriteXY[i * 2], spriteXY[i * 2 + 1]);
+        else p.blit(r, spriteXY[i * 2], spriteXY[i * 2 + 1], a);
+    }
+
+    // HP bars and debug boxes
+    private void replayOverlays(Raster r) {
+        if (barCount > 0) {
+            int bg = HP_BG.getRGB(), fill = HP_FILL.getRGB(), border = HP_BORDER.getRGB();
+            for (int i = 0; i < barCount * 5; i += 5) r.fillRect(bg, bars[i], bars[i + 1], bars[i + 2], bars[i + 3]);
+            for (int i = 0; i < barCount * 5; i += 5) r.fillRect(fill, bars[i], bars[i + 1], bars[i + 4], bars[i + 3]);
+            for (int i = 0; i < barCount * 5; i += 5) r.drawRect(border, bars[i], bars[i + 1], bars[i + 2], bars[i + 3]);
+        }
+
+        // No state to group by here: submission order
+        for (int i = 0; i < debugCount; i++) {
+            int c = debugColor[i].getRGB();
+            int k = i * 5;
+            if (debugRect[k + 4] != 0) r.fillRect(c, debugRect[k], debugRect[k + 1], debugRect[k + 2], debugRect[k + 3]);
+            else r.drawRect(c, debugRect[k], debugRect[k + 1], debugRect[k + 2], debugRect[k + 3]);
+        }
+    }
+
+    // level in 1..FADE_LEVELS-1
+    private static BufferedImage fadedFrame(BufferedImage src, int level) {
+        BufferedImage[] levels = fadeCache.computeIfAbsent(src, k -> new BufferedImage[FADE_LEVELS]);
+        BufferedImage faded = levels[level];
+        if (faded == null) {
+            faded = new BufferedImage(src.getWidth(), src.getHeight(), BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = faded.createGraphics();
+            g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC, level / (float) FADE_LEVELS));
+            g.drawImage(src, 0, 0, null);
+            g.dispose();
+            levels[level] = faded;
+        }
+        return faded;
+    }
+
+    // Hot reload: cached fades belong to frames that no longer exist
+    public static void clearFadeCache() {
+        fadeCache.clear();
+    }
+}
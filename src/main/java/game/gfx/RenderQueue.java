@@ -0,0 +1,82 @@
+package main.java.game.gfx;
+
+import java.util.Arrays;
+
+// Depth-sorted, camera-culled draw list. Membership is explicit (add/remove on spawn/despawn);
+// each frame refreshes the sort keys and re-sorts with an insertion sort, which is ~O(n)
+// because the order barely changes from one frame to the next.
+public class RenderQueue {
+
+    private Renderable[] items = new Renderable[64];
+    private float[] keys = new float[64];
+    private int count = 0;
+
+    // Stats of the last submit
+    private int visibleCount = 0;
+
+    public void add(Renderable r) {
+        if (count == items.length) {
+            items = Arrays.copyOf(items, count * 2);
+            keys = Arrays.copyOf(keys, count * 2);
+        }
+        items[count] = r;
+        keys[count] = r.getSortY();
+        count++;
+    }
+
+    public void remove(Renderable r) {
+        for (int i = 0; i < count; i++) {
+            if (items[i] == r) {
+                // Shift down to keep the order (and so the next sort cheap)
+                System.arraycopy(items, i + 1, items, i, count - i - 1);
+                System.arraycopy(keys, i + 1, keys, i, count - i - 1);
+                items[--count] = null;
+                return;
+            }
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(items, 0, count, null);
+        count = 0;
+    }
+
+    // Sorts by foot Y and submits only what the camera can see, back to front
+    public void submit(RenderBatch batch, Camera cam) {
+        for (int i = 0; i < count; i++) keys[i] = items[i].getSortY();
+        sort();
+
+        visibleCount = 0;
+        for (int i = 0; i < count; i++) {
+            Renderable r = items[i];
+            if (!r.isVisible(cam)) continue;
+            r.draw(batch, cam);
+            visibleCount++;
+        }
+    }
+
+    // Stable insertion sort on (keys, items)
+    private void sort() {
+        for (int i = 1; i < count; i++) {
+            float k = keys[i];
+            if (k >= keys[i - 1]) continue; // common case: already in place
+            Renderable r = items[i];
+            int j = i - 1;
+            while (j >= 0 && keys[j] > k) {
+                keys[j + 1] = keys[j];
+                items[j + 1] = items[j];
+                j--;
+            }
+            keys[j + 1] = k;
+            items[j + 1] = r;
+        }
+    }
+
+    public int size() {
+        return count;
+    }
+
+    public int getVisibleCount() {
+        return visibleCount;
+    }
+}
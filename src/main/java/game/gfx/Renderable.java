@@ -0,0 +1,13 @@
+package main.java.game.gfx;
+
+// Anything drawn through the Y-sorted RenderQueue (entities, map props)
+public interface Renderable {
+
+    // World-space Y of the feet: lower on screen = drawn later = in front
+    float getSortY();
+
+    // Cheap bounds test of everything draw() may touch (sprite, HP bar) against the camera view
+    boolean isVisible(Camera cam);
+
+    void draw(RenderBatch batch, Camera cam);
+}
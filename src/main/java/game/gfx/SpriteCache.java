@@ -0,0 +1,137 @@
+package main.java.game.gfx;
+
+import main.java.game.Resources;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Shared decoded sprite sheets, keyed by resource path.
+// Every entity of the same kind slices its frames from the same sheet instead of decoding its own copy.
+public class SpriteCache {
+
+    private static final Map<String, BufferedImage> sheets = new ConcurrentHashMap<>();
+
+    // Sliced frames per "path#frameCount", plus their horizontally mirrored copies.
+    // Built once and shared by every AnimationClip, so facing left is a plain unscaled blit too.
+    private static final Map<String, BufferedImage[]> frames = new ConcurrentHashMap<>();
+    private static final Map<String, BufferedImage[]> mirroredFrames = new ConcurrentHashMap<>();
+    // Mirrored frame -> the frame it was flipped from (lets SpritePixels share one pixel array)
+    private static final Map<BufferedImage, BufferedImage> mirrorSources = new ConcurrentHashMap<>();
+
+    public static BufferedImage get(String resourcePath) {
+        return sheets.computeIfAbsent(resourcePath, SpriteCache::decode);
+    }
+
+    public static boolean contains(String resourcePath) {
+        return sheets.containsKey(resourcePath);
+    }
+
+    // Swaps in a freshly decoded sheet (hot reload). Must be called at a tick boundary.
+    public static void put(String resourcePath, BufferedImage sheet) {
+        sheets.put(resourcePath, sheet);
+        String prefix = resourcePath + "#";
+        frames.keySet().removeIf(k -> k.startsWith(prefix));
+        mirroredFrames.entrySet().removeIf(e -> {
+            if (!e.getKey().startsWith(prefix)) return false;
+            for (BufferedImage m : e.getValue()) mirrorSources.remove(m);
+            return true;
+        });
+    }
+
+    public static void clear() {
+        sheets.clear();
+        frames.clear();
+        mirroredFrames.clear();
+        mirrorSources.clear();
+    }
+
+    // Horizontal strip sheet: frameCount frames of (sheet width / frameCount) x sheet height
+    public static BufferedImage[] frames(String resourcePath, int frameCount) {
+        return frames.computeIfAbsent(resourcePath + "#" + frameCount, k -> slice(get(resourcePath), frameCount));
+    }
+
+    public static BufferedImage[] mirroredFrames(String resourcePath, int frameCount) {
+        return mirroredFrames.computeIfAbsent(resourcePath + "#" + frameCount, k -> {
+            BufferedImage[] src = frames(resourcePath, frameCount);
+            BufferedImage[] out = mirror(src);
+            for (int i = 0; i < out.length; i++) mirrorSources.put(out[i], src[i]);
+            return out;
+        });
+    }
+
+    // Null unless img is one of the mirroredFrames()
+    public static BufferedImage mirrorSource(BufferedImage img) {
+        return mirrorSources.get(img);
+    }
+
+    public static int sheetCount() {
+        return sheets.size();
+    }
+
+    // Pixel memory held by the cache: decoded sheets plus sliced and mirrored frames
+    public static long residentBytes() {
+        long n = 0;
+        for (BufferedImage img : sheets.values()) n += bytes(img);
+        for (BufferedImage[] f : frames.values()) for (BufferedImage img : f) n += bytes(img);
+        for (BufferedImage[] f : mirroredFrames.values()) for (BufferedImage img : f) n += bytes(img);
+        return n;
+    }
+
+    private static long bytes(BufferedImage img) {
+        DataBuffer db = img.getRaster().getDataBuffer();
+        return (long) db.getSize() * db.getNumBanks() * DataBuffer.getDataTypeSize(db.getDataType()) / 8;
+    }
+
+    private static BufferedImage[] slice(BufferedImage sheet, int frameCount) {
+        int frameWidth = sheet.getWidth() / frameCount;
+        int frameHeight = sheet.getHeight();
+
+        // Copied out of the sheet: compact standalone rasters blit faster than sub-images
+        BufferedImage[] out = new BufferedImage[frameCount];
+        for (int i = 0; i < frameCount; i++) {
+            out[i] = copy(sheet.getSubimage(i * frameWidth, 0, frameWidth, frameHeight), false);
+        }
+        return out;
+    }
+
+    public static BufferedImage[] mirror(BufferedImage[] src) {
+        BufferedImage[] out = new BufferedImage[src.length];
+        for (int i = 0; i < src.length; i++) {
+            out[i] = copy(src[i], true);
+        }
+        return out;
+    }
+
+    private static BufferedImage copy(BufferedImage src, boolean flipX) {
+        int w = src.getWidth();
+        int h = src.getHeight();
+        BufferedImage dst = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = dst.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        if (flipX) {
+            // Paid once here instead of on every left-facing draw
+            g.drawImage(src, w, 0, -w, h, null);
+        } else {
+            g.drawImage(src, 0, 0, null);
+        }
+        g.dispose();
+        return dst;
+    }
+
+    public static BufferedImage decode(String resourcePath) {
+        try (InputStream in = Resources.open(resourcePath)) {
+            if (in == null) throw new IllegalArgumentException("Missing sprite sheet: " + resourcePath);
+            BufferedImage img = ImageIO.read(in);
+            if (img == null) throw new IllegalArgumentException("Unsupported/invalid image: " + resourcePath);
+            return img;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to load sprite sheet: " + resourcePath, e);
+        }
+    }
+}
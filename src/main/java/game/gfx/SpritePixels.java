@@ -0,0 +1,101 @@
+package main.java.game.gfx;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Pre-extracted ARGB pixels of a sprite frame, for the Raster blitter.
+// Extracted once per image on first draw, along with per-row runs of opaque / partly transparent pixels.
+// A pre-mirrored SpriteCache frame reuses the pixels of its source frame with `mirrored` set
+// (the blitter reads it right to left), so it costs no copy.
+public final class SpritePixels {
+
+    private static final Map<BufferedImage, SpritePixels> cache = new ConcurrentHashMap<>();
+
+    public final int[] argb;
+    public final int width, height;
+    public final boolean opaque;   // no transparent pixel at all: plain row copies
+    public final boolean mirrored;
+
+    // Per-row runs for Raster.blitSpans: transparent pixels skipped outright, opaque runs copied
+    private final int[] spans;
+    private final int[] rowStart;
+
+    private SpritePixels(int[] argb, int width, int height, boolean opaque, boolean mirrored, int[] spans, int[] rowStart) {
+        this.argb = argb;
+        this.width = width;
+        this.height = height;
+        this.opaque = opaque;
+        this.mirrored = mirrored;
+        this.spans = spans;
+        this.rowStart = rowStart;
+    }
+
+    public static SpritePixels of(BufferedImage img) {
+        SpritePixels p = cache.get(img);
+        if (p != null) return p;
+
+        BufferedImage source = SpriteCache.mirrorSource(img);
+        if (source != null) {
+            SpritePixels s = of(source);
+            p = new SpritePixels(s.argb, s.width, s.height, s.opaque, true, s.spans, s.rowStart);
+        } else {
+            p = extract(img);
+        }
+        // Racing extractors produce equal copies, keep whichever landed first
+        SpritePixels prev = cache.putIfAbsent(img, p);
+        return prev != null ? prev : p;
+    }
+
+    static SpritePixels extract(BufferedImage img) {
+        int w = img.getWidth(), h = img.getHeight();
+        int[] argb = img.getRGB(0, 0, w, h, null, 0, w);
+        boolean opaque = true;
+        int[] spans = new int[16];
+        int n = 0;
+        int[] rowStart = new int[h + 1];
+
+        for (int y = 0; y < h; y++) {
+            rowStart[y] = n;
+            int x = 0;
+            while (x < w) {
+                int a = argb[y * w + x] >>> 24;
+                if (a == 0) {
+                    opaque = false;
+                    x++;
+                    continue;
+                }
+                // Run of the same kind: opaque (255) or partly transparent (1..254)
+                boolean full = a == 255;
+                if (!full) opaque = false;
+                int start = x;
+                while (x < w) {
+                    int b = argb[y * w + x] >>> 24;
+                    if (b == 0 || (b == 255) != full) break;
+                    x++;
+                }
+                if (n + 2 > spans.length) spans = Arrays.copyOf(spans, spans.length * 2);
+                spans[n++] = start;
+                spans[n++] = full ? x - start : start - x;
+            }
+        }
+        rowStart[h] = n;
+        return new SpritePixels(argb, w, h, opaque, false, Arrays.copyOf(spans, n), rowStart);
+    }
+
+    public void blit(Raster r, int x, int y) {
+        if (opaque && !mirrored) r.copyOpaque(argb, width, 0, 0, width, height, x, y);
+        else r.blitSpans(argb, width, height, spans, rowStart, x, y, mirrored, 256);
+    }
+
+    // alpha 0..256
+    public void blit(Raster r, int x, int y, int alpha) {
+        r.blitSpans(argb, width, height, spans, rowStart, x, y, mirrored, alpha);
+    }
+
+    // Hot reload: the frames these came from are gone
+    public static void clearCache() {
+        cache.clear();
+    }
+}
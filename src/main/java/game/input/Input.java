@@ -3,61 +3,107 @@ package main.java.game.input;
 
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
+// Key events are queued on the EDT (lock-free) and folded into per-tick sets by the game loop in poll(),
+// so the two threads share nothing but the queue and a tap shorter than a tick still shows up.
 public class Input extends KeyAdapter {
-    private boolean up, down, left, right, attack, guard, restart;
+
+    // Per-tick input bitmask: the only thing the simulation sees of the keyboard (see World.update)
+    public static final int UP = 1;
+    public static final int DOWN = 1 << 1;
+    public static final int LEFT = 1 << 2;
+    public static final int RIGHT = 1 << 3;
+    public static final int ATTACK = 1 << 4;
+    public static final int GUARD = 1 << 5;
+    public static final int RESTART = 1 << 6;
+
+    // Tool keys: seen through getPressed() by the game loop, never part of the simulation mask
+    public static final int QUICKSAVE = 1 << 7;
+    public static final int QUICKLOAD = 1 << 8;
+    private static final int SIM_KEYS = (1 << 7) - 1;
+
+    // A few seconds of mashing; the loop drains it every tick
+    private final KeyEventQueue events = new KeyEventQueue(256);
+    private final AtomicInteger dropped = new AtomicInteger();
+
+    // Game loop only
+    private int held, pressed, released;
 
 
     @Override
     public void keyPressed(KeyEvent e) {
-        toggle(e.getKeyCode(), true);
+        post(e.getKeyCode(), true);
     }
 
     @Override
     public void keyReleased(KeyEvent e) {
-        toggle(e.getKeyCode(), false);
+        post(e.getKeyCode(), false);
     }
 
 
-    private void toggle(int code, boolean on) {
-        switch (code) {
-            case KeyEvent.VK_W, KeyEvent.VK_UP -> up = on;
-            case KeyEvent.VK_S, KeyEvent.VK_DOWN -> down = on;
-            case KeyEvent.VK_A, KeyEvent.VK_LEFT -> left = on;
-            case KeyEvent.VK_D, KeyEvent.VK_RIGHT -> right = on;
-            case KeyEvent.VK_J -> attack = on;
-            case KeyEvent.VK_K -> guard = on;
-            case KeyEvent.VK_R -> restart = on;
-        }
+    private void post(int code, boolean down) {
+        int key = keyFor(code);
+        if (key == 0) return;
+        if (!events.offer(key, down, System.nanoTime())) dropped.incrementAndGet();
     }
 
-
-    public boolean isUp() {
-        return up;
+    private static int keyFor(int code) {
+        return switch (code) {
+            case KeyEvent.VK_W, KeyEvent.VK_UP -> UP;
+            case KeyEvent.VK_S, KeyEvent.VK_DOWN -> DOWN;
+            case KeyEvent.VK_A, KeyEvent.VK_LEFT -> LEFT;
+            case KeyEvent.VK_D, KeyEvent.VK_RIGHT -> RIGHT;
+            case KeyEvent.VK_J -> ATTACK;
+            case KeyEvent.VK_K -> GUARD;
+            case KeyEvent.VK_R -> RESTART;
+            case KeyEvent.VK_F5 -> QUICKSAVE;
+            case KeyEvent.VK_F9 -> QUICKLOAD;
+            default -> 0;
+        };
     }
 
-    public boolean isDown() {
-        return down;
+    // Game loop, once at the start of each tick: applies the events that happened up to `until` (nanoTime).
+    // Later events stay queued for the next tick, so catch-up ticks each get their own slice of input.
+    public void poll(long until) {
+        pressed = 0;
+        released = 0;
+
+        while (events.hasNext() && events.peekTime() <= until) {
+            int key = events.peekKey();
+            boolean down = events.peekDown();
+            events.advance();
+
+            if (down) {
+                if ((held & key) == 0) pressed |= key; // auto-repeat is not a new press
+                held |= key;
+            } else {
+                released |= key;
+                held &= ~key;
+            }
+        }
     }
 
-    public boolean isLeft() {
-        return left;
+    // The tick's mask: held keys plus anything pressed during the tick, even if already released again.
+    // This is also what gets recorded.
+    public int sample() {
+        return (held | pressed) & SIM_KEYS;
     }
 
-    public boolean isRight() {
-        return right;
+    public int getHeld() {
+        return held;
     }
 
-    public boolean isAttack() {
-        return attack;
+    public int getPressed() {
+        return pressed;
     }
 
-    public boolean isGuard() {
-        return guard;
+    public int getReleased() {
+        return released;
     }
 
-    public boolean isRestart() {
-        return restart;
+    public int getDroppedCount() {
+        return dropped.get();
     }
-}
\ No newline at end of file
+}
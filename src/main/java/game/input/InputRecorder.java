@@ -0,0 +1,74 @@
+package main.java.game.input;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Writes one input mask per tick to a replay file. With the seed and map id in the header,
+// that is everything needed to re-run the session (see InputReplay).
+//
+// Format (big-endian, DataOutputStream):
+//   int MAGIC, short VERSION, long seed, UTF mapId
+//   then runs of (byte mask, short count) until EOF - held keys compress to a few bytes per second
+public class InputRecorder implements AutoCloseable {
+
+    static final int MAGIC = 0x52504C59; // "RPLY"
+    static final short VERSION = 1;
+
+    private static final int MAX_RUN = 0xFFFF;
+
+    private final DataOutputStream out;
+    private int runMask = -1;
+    private int runLength = 0;
+    private long ticks = 0;
+
+    public InputRecorder(Path file, long seed, String mapId) {
+        try {
+            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(seed);
+            out.writeUTF(mapId);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to create replay: " + file, e);
+        }
+    }
+
+    public synchronized void record(int mask) {
+        ticks++;
+        if (mask == runMask && runLength < MAX_RUN) {
+            runLength++;
+            return;
+        }
+        flushRun();
+        runMask = mask;
+        runLength = 1;
+    }
+
+    private void flushRun() {
+        if (runLength == 0) return;
+        try {
+            out.writeByte(runMask);
+            out.writeShort(runLength);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write replay", e);
+        }
+    }
+
+    public long getTicks() {
+        return ticks;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            flushRun();
+            runLength = 0;
+            out.close();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to close replay", e);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package main.java.game.input;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+// A replay file written by InputRecorder, expanded to one mask per tick.
+// Feed next() to World.update in place of Input.sample() to reproduce the recorded session.
+public class InputReplay {
+
+    private final long seed;
+    private final String mapId;
+    private byte[] masks = new byte[1024];
+    private int length = 0;
+    private int cursor = 0;
+
+    public InputReplay(Path file) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != InputRecorder.MAGIC) throw new IllegalArgumentException("Not a replay file: " + file);
+            short version = in.readShort();
+            if (version != InputRecorder.VERSION) {
+                throw new IllegalArgumentException("Unsupported replay version " + version + ": " + file);
+            }
+            seed = in.readLong();
+            mapId = in.readUTF();
+
+            while (true) {
+                int mask;
+                try {
+                    mask = in.readByte();
+                } catch (EOFException end) {
+                    break;
+                }
+                int run = in.readUnsignedShort();
+                if (length + run > masks.length) masks = Arrays.copyOf(masks, Math.max(masks.length * 2, length + run));
+                Arrays.fill(masks, length, length + run, (byte) mask);
+                length += run;
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read replay: " + file, e);
+        }
+    }
+
+    public boolean hasNext() {
+        return cursor < length;
+    }
+
+    public int next() {
+        return masks[cursor++] & 0xFF;
+    }
+
+    public void rewind() {
+        cursor = 0;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public String getMapId() {
+        return mapId;
+    }
+
+    public int getTickCount() {
+        return length;
+    }
+
+    public int getPosition() {
+        return cursor;
+    }
+}
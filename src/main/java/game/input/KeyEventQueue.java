@@ -0,0 +1,78 @@
+package main.java.game.input;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Bounded multi-producer / single-consumer ring of timestamped key events.
+// Each slot carries a sequence number: producers claim a slot with one CAS on the tail and publish it
+// with a release store of the sequence; the single consumer (the game loop) never CASes or locks.
+// Full ring = offer() fails, nothing blocks.
+public class KeyEventQueue {
+
+    private final int mask;
+    private final int[] keys;   // Input.* bit
+    private final boolean[] downs;
+    private final long[] times; // System.nanoTime() at the event
+    private final AtomicLongArray sequence;
+
+    private final AtomicLong tail = new AtomicLong();
+    private long head = 0; // consumer only
+
+    public KeyEventQueue(int capacity) {
+        if (Integer.bitCount(capacity) != 1) throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        mask = capacity - 1;
+        keys = new int[capacity];
+        downs = new boolean[capacity];
+        times = new long[capacity];
+        sequence = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) sequence.set(i, i);
+    }
+
+    // Any thread
+    public boolean offer(int key, boolean down, long time) {
+        long t = tail.get();
+        while (true) {
+            int slot = (int) (t & mask);
+            long diff = sequence.get(slot) - t;
+
+            if (diff == 0) {
+                if (tail.compareAndSet(t, t + 1)) {
+                    keys[slot] = key;
+                    downs[slot] = down;
+                    times[slot] = time;
+                    sequence.lazySet(slot, t + 1); // publish
+                    return true;
+                }
+                t = tail.get();
+            } else if (diff < 0) {
+                return false; // consumer hasn't freed this slot yet: full
+            } else {
+                t = tail.get(); // another producer took it
+            }
+        }
+    }
+
+    // --- Consumer (game loop) only ---
+
+    public boolean hasNext() {
+        return sequence.get((int) (head & mask)) == head + 1;
+    }
+
+    public int peekKey() {
+        return keys[(int) (head & mask)];
+    }
+
+    public boolean peekDown() {
+        return downs[(int) (head & mask)];
+    }
+
+    public long peekTime() {
+        return times[(int) (head & mask)];
+    }
+
+    // Frees the head slot for producers
+    public void advance() {
+        sequence.lazySet((int) (head & mask), head + mask + 1);
+        head++;
+    }
+}
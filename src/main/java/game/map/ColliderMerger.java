@@ -0,0 +1,78 @@
+package main.java.game.map;
+
+import main.java.game.physics.Rect;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Load-time pass over the "colliders" object group. Designers draw many small adjacent boxes;
+// tile-aligned ones are rasterized onto the tile grid and greedily re-cut into the fewest covering
+// rectangles (same blocked area, exactly). Anything not on the grid is kept as drawn.
+final class ColliderMerger {
+
+    private ColliderMerger() {
+    }
+
+    // Rewrites `colliders` in place; fills `solid` with every tile fully covered by a collider
+    static void merge(List<Rect> colliders, TileMask solid, int tileW, int tileH) {
+        List<Rect> loose = new ArrayList<>();
+
+        for (Rect r : colliders) {
+            rasterize(r, solid, tileW, tileH);
+            if (!isTileAligned(r, solid, tileW, tileH)) loose.add(r);
+        }
+
+        // Greedy cover: widest run from each free solid tile, then grow down while the whole run stays free
+        TileMask claimed = new TileMask(solid.cols, solid.rows, false);
+        List<Rect> merged = new ArrayList<>();
+
+        for (int ty = 0; ty < solid.rows; ty++) {
+            for (int tx = 0; tx < solid.cols; tx++) {
+                if (!solid.get(tx, ty) || claimed.get(tx, ty)) continue;
+
+                int w = 1;
+                while (tx + w < solid.cols && solid.get(tx + w, ty) && !claimed.get(tx + w, ty)) w++;
+
+                int h = 1;
+                while (ty + h < solid.rows && rowFree(solid, claimed, tx, ty + h, w)) h++;
+
+                for (int y = ty; y < ty + h; y++) {
+                    for (int x = tx; x < tx + w; x++) claimed.set(x, y, true);
+                }
+                merged.add(new Rect(tx * tileW, ty * tileH, w * tileW, h * tileH));
+            }
+        }
+
+        // Loose rects may also cover whole tiles; the overlap with the merged ones is harmless
+        colliders.clear();
+        colliders.addAll(merged);
+        colliders.addAll(loose);
+    }
+
+    private static boolean rowFree(TileMask solid, TileMask claimed, int tx, int ty, int w) {
+        for (int x = tx; x < tx + w; x++) {
+            if (!solid.get(x, ty) || claimed.get(x, ty)) return false;
+        }
+        return true;
+    }
+
+    // Marks the tiles lying completely inside r
+    private static void rasterize(Rect r, TileMask solid, int tileW, int tileH) {
+        int tx0 = Math.max(0, Math.ceilDiv(r.x, tileW));
+        int ty0 = Math.max(0, Math.ceilDiv(r.y, tileH));
+        int tx1 = Math.min(solid.cols, Math.floorDiv(r.x + r.w, tileW)); // exclusive
+        int ty1 = Math.min(solid.rows, Math.floorDiv(r.y + r.h, tileH));
+
+        for (int ty = ty0; ty < ty1; ty++) {
+            for (int tx = tx0; tx < tx1; tx++) solid.set(tx, ty, true);
+        }
+    }
+
+    // Exactly representable by whole in-map tiles
+    private static boolean isTileAligned(Rect r, TileMask solid, int tileW, int tileH) {
+        return r.w > 0 && r.h > 0
+                && r.x % tileW == 0 && r.y % tileH == 0 && r.w % tileW == 0 && r.h % tileH == 0
+                && r.x >= 0 && r.y >= 0
+                && r.x + r.w <= solid.cols * tileW && r.y + r.h <= solid.rows * tileH;
+    }
+}
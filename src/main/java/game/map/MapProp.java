@@ -0,0 +1,39 @@
+package main.java.game.map;
+
+import main.java.game.gfx.Camera;
+import main.java.game.gfx.RenderBatch;
+import main.java.game.gfx.Renderable;
+
+import java.awt.image.BufferedImage;
+
+// A building or decoration placed in a Tiled object layer. Drawn through the render queue so it
+// depth-sorts with the units walking around it.
+public class MapProp implements Renderable {
+
+    public final BufferedImage image;
+    public final int x, y;      // top-left of the image, world pixels
+    public final int footY;     // bottom of the object, used for depth sorting
+
+    public MapProp(BufferedImage image, int x, int y, int footY) {
+        this.image = image;
+        this.x = x;
+        this.y = y;
+        this.footY = footY;
+    }
+
+    @Override
+    public float getSortY() {
+        return footY;
+    }
+
+    @Override
+    public boolean isVisible(Camera cam) {
+        return x + image.getWidth() > cam.x && x < cam.x + cam.viewW
+                && y + image.getHeight() > cam.y && y < cam.y + cam.viewH;
+    }
+
+    @Override
+    public void draw(RenderBatch batch, Camera cam) {
+        batch.sprite(image, x - cam.originX, y - cam.originY);
+    }
+}
@@ -0,0 +1,118 @@
+package main.java.game.map;
+
+import main.java.game.gfx.Camera;
+import main.java.game.gfx.Raster;
+
+import java.awt.image.BufferedImage;
+
+// Persistent view-sized image of the map layers. When the camera moves a few pixels the existing pixels
+// are shifted by the delta (arraycopy per row) and only the newly exposed row / column strips of tiles
+// are drawn. Full redraw when the map, its tiles (TiledMap.setTile) or the view size change, after
+// invalidate() (restarts), or when the jump exposes half the view or more.
+// Rendered at the camera's integer origin (Camera.snapOrigin), so a scrolled surface equals a fresh one pixel
+// for pixel and lines up with the sprites drawn over it.
+public class MapSurface {
+
+    private final int clearArgb;
+
+    private BufferedImage image;
+    private Raster raster;
+
+    private TiledMap map;
+    private int editCount;
+    private int ox, oy;
+    private boolean valid;
+
+    // Last update(): tiles drawn, and whether it was a full redraw
+    private int tilesDrawn;
+    private boolean fullRedraw;
+
+    public MapSurface(int clearArgb) {
+        this.clearArgb = clearArgb;
+    }
+
+    public void invalidate() {
+        valid = false;
+    }
+
+    // Brings the surface to the camera's current position; call once per frame before drawing it
+    public void update(TiledMap map, Camera cam) {
+        if (image == null || image.getWidth() != cam.viewW || image.getHeight() != cam.viewH) {
+            image = new BufferedImage(cam.viewW, cam.viewH, BufferedImage.TYPE_INT_ARGB);
+            raster = new Raster(image);
+            valid = false;
+        }
+
+        int nx = cam.originX;
+        int ny = cam.originY;
+        int dx = nx - ox, dy = ny - oy;
+        int w = image.getWidth(), h = image.getHeight();
+
+        boolean full = !valid || map != this.map || map.getEditCount() != editCount
+                || Math.abs(dx) * 2 >= w || Math.abs(dy) * 2 >= h;
+
+        this.map = map;
+        editCount = map.getEditCount();
+        ox = nx;
+        oy = ny;
+        valid = true;
+        fullRedraw = full;
+        tilesDrawn = 0;
+
+        if (full) {
+            redraw(0, 0, w, h);
+            return;
+        }
+        if (dx == 0 && dy == 0) return;
+
+        shift(dx, dy, w, h);
+
+        // Exposed strips; the corner where they cross is just drawn twice
+        if (dy > 0) redraw(0, h - dy, w, h);
+        else if (dy < 0) redraw(0, 0, w, -dy);
+        if (dx > 0) redraw(w - dx, 0, w, h);
+        else if (dx < 0) redraw(0, 0, -dx, h);
+    }
+
+    // Content moves by (-dx, -dy); rows copied in the order that never reads an overwritten one
+    private void shift(int dx, int dy, int w, int h) {
+        int[] px = raster.pixels;
+        int len = w - Math.abs(dx);
+        int srcX = Math.max(0, dx), dstX = Math.max(0, -dx);
+        int rows = h - Math.abs(dy);
+
+        if (dy >= 0) {
+            for (int y = 0; y < rows; y++) {
+                System.arraycopy(px, (y + dy) * w + srcX, px, y * w + dstX, len);
+            }
+        } else {
+            for (int y = h - 1; y >= h - rows; y--) {
+                System.arraycopy(px, (y + dy) * w + srcX, px, y * w + dstX, len);
+            }
+        }
+    }
+
+    private void redraw(int x0, int y0, int x1, int y1) {
+        raster.setClip(x0, y0, x1, y1);
+        raster.clear(clearArgb);
+        tilesDrawn += map.drawTiles(raster, ox, oy);
+        raster.resetClip();
+    }
+
+    // Opaque (cleared first), so it can be copied without blending
+    public BufferedImage getImage() {
+        return image;
+    }
+
+    public int[] getPixels() {
+        return raster.pixels;
+    }
+
+    public int getTilesDrawn() {
+        return tilesDrawn;
+    }
+
+    public boolean wasFullRedraw() {
+        return fullRedraw;
+    }
+}
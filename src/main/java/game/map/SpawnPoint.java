@@ -0,0 +1,34 @@
+package main.java.game.map;
+
+// One spawn object from a Tiled "spawns" object layer: what to create, where, and how many.
+// Position is the object's center in world pixels (a point object's own position).
+public class SpawnPoint {
+
+    public static final String PLAYER = "player";
+    public static final String ENEMY = "enemy";
+
+    public final String type;       // PLAYER or ENEMY
+    public final String team;       // kept for authoring; only the hostile team exists so far
+    public final String unit;       // enemy kind ("warrior", "archer"), see UnitType
+    public final String spriteBase; // sprite folder, null = the type's default
+    public final int count;         // units created from this point
+    public final float x, y;
+
+    public SpawnPoint(String type, String team, String unit, String spriteBase, int count, float x, float y) {
+        this.type = type;
+        this.team = team;
+        this.unit = unit;
+        this.spriteBase = spriteBase;
+        this.count = count;
+        this.x = x;
+        this.y = y;
+    }
+
+    public boolean isEnemy() {
+        return ENEMY.equals(type);
+    }
+
+    public boolean isPlayer() {
+        return PLAYER.equals(type);
+    }
+}
@@ -0,0 +1,106 @@
+package main.java.game.map;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// The map's spawn points: the player start plus every enemy spawn, the latter in a read-only uniform
+// grid (same flattened layout as ColliderIndex) so the world can ask which spawns lie near the camera
+// without walking thousands of them per tick. Enemy spawns are numbered 0..size()-1 in map order.
+public class SpawnTable {
+
+    private static final int CELL = 256;
+
+    private final SpawnPoint player;
+    private final SpawnPoint[] spawns;
+    private final int cols, rows;
+
+    // Cell -> spawn ids, flattened (ids of cell c are cellItems[cellStart[c] .. cellStart[c + 1]))
+    private final int[] cellStart;
+    private final int[] cellItems;
+
+    public SpawnTable(List<SpawnPoint> points, int worldW, int worldH) {
+        SpawnPoint start = null;
+        List<SpawnPoint> enemies = new ArrayList<>();
+        for (SpawnPoint p : points) {
+            if (p.isPlayer()) {
+                if (start == null) start = p; // later player spawns are ignored
+            } else if (p.isEnemy()) {
+                enemies.add(p);
+            }
+        }
+        this.player = start;
+        this.spawns = enemies.toArray(new SpawnPoint[0]);
+        this.cols = Math.max(1, (worldW + CELL - 1) / CELL);
+        this.rows = Math.max(1, (worldH + CELL - 1) / CELL);
+
+        // Count per cell, prefix-sum, then fill
+        int[] counts = new int[cols * rows + 1];
+        for (SpawnPoint p : spawns) counts[cell(p.x, p.y) + 1]++;
+        for (int i = 1; i < counts.length; i++) counts[i] += counts[i - 1];
+        this.cellStart = counts;
+
+        this.cellItems = new int[counts[counts.length - 1]];
+        int[] fill = Arrays.copyOf(counts, counts.length - 1);
+        for (int id = 0; id < spawns.length; id++) cellItems[fill[cell(spawns[id].x, spawns[id].y)]++] = id;
+    }
+
+    // Ids of the enemy spawns inside [x0, x1) x [y0, y1), ascending, into out (sized size()); returns the count
+    public int query(float x0, float y0, float x1, float y1, int[] out) {
+        int c0 = cellX(x0), c1 = cellX(x1);
+        int r0 = cellY(y0), r1 = cellY(y1);
+
+        int n = 0;
+        for (int cy = r0; cy <= r1; cy++) {
+            for (int cx = c0; cx <= c1; cx++) {
+                int cell = cy * cols + cx;
+                for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                    SpawnPoint p = spawns[cellItems[i]];
+                    if (p.x >= x0 && p.x < x1 && p.y >= y0 && p.y < y1) out[n++] = cellItems[i];
+                }
+            }
+        }
+        // Map order, whatever the cell order: activation order must not depend on the grid
+        Arrays.sort(out, 0, n);
+        return n;
+    }
+
+    public SpawnPoint get(int id) {
+        return spawns[id];
+    }
+
+    public int size() {
+        return spawns.length;
+    }
+
+    // First player spawn, null if the map has none
+    public SpawnPoint getPlayerSpawn() {
+        return player;
+    }
+
+    public boolean isEmpty() {
+        return player == null && spawns.length == 0;
+    }
+
+    // Enemies over all spawns
+    public int totalCount() {
+        int n = 0;
+        for (SpawnPoint p : spawns) n += p.count;
+        return n;
+    }
+
+    private int cell(float x, float y) {
+        return cellY(y) * cols + cellX(x);
+    }
+
+    // Off-map points are clamped into the border cells
+    private int cellX(float px) {
+        int c = (int) Math.floor(px / CELL);
+        return c < 0 ? 0 : Math.min(c, cols - 1);
+    }
+
+    private int cellY(float py) {
+        int r = (int) Math.floor(py / CELL);
+        return r < 0 ? 0 : Math.min(r, rows - 1);
+    }
+}
@@ -0,0 +1,192 @@
+package main.java.game.map;
+
+// One tile layer, stored as compactly as its GIDs allow: 16x16-tile chunks of byte, short or int cells
+// (picked per layer from the largest GID, widened if setTile ever needs more), and chunks that are all
+// empty are not stored at all, so an empty layer costs only its chunk table.
+// Tiled's flip flags (top 3 GID bits) live apart in a sparse per-chunk bitset; most maps have none.
+final class TileLayer {
+
+    static final int GID_MASK = 0x1FFFFFFF;
+
+    private static final int CHUNK_SHIFT = 4;
+    private static final int CHUNK_MASK = (1 << CHUNK_SHIFT) - 1;
+    private static final int CHUNK_TILES = 1 << (CHUNK_SHIFT * 2);
+    private static final int FLIP_WORDS = CHUNK_TILES / 64; // per flag plane
+
+    final int width, height;
+    private final int chunksX, chunkCount;
+
+    // Exactly one of these is in use, per bytesPerTile; null chunks are all zero
+    private int bytesPerTile;
+    private byte[][] bytes;
+    private short[][] shorts;
+    private int[][] ints;
+
+    // Per chunk: 3 planes (diagonal, vertical, horizontal) of CHUNK_TILES bits, null = no flipped tile
+    private long[][] flips;
+
+    private TileLayer(int width, int height, int bytesPerTile) {
+        this.width = width;
+        this.height = height;
+        this.chunksX = (width + CHUNK_MASK) >> CHUNK_SHIFT;
+        this.chunkCount = chunksX * ((height + CHUNK_MASK) >> CHUNK_SHIFT);
+        allocate(bytesPerTile);
+    }
+
+    // Raw Tiled data: GIDs with the flip bits still on top
+    static TileLayer fromRaw(int[] raw, int width, int height) {
+        int maxGid = 0;
+        for (int v : raw) maxGid = Math.max(maxGid, v & GID_MASK);
+
+        TileLayer layer = new TileLayer(width, height, bytesFor(maxGid));
+        for (int i = 0; i < raw.length; i++) {
+            if (raw[i] != 0) layer.set(i % width, i / width, raw[i]);
+        }
+        return layer;
+    }
+
+    private static int bytesFor(int gid) {
+        return gid <= 0xFF ? 1 : gid <= 0xFFFF ? 2 : 4;
+    }
+
+    private void allocate(int bytesPerTile) {
+        this.bytesPerTile = bytesPerTile;
+        bytes = bytesPerTile == 1 ? new byte[chunkCount][] : null;
+        shorts = bytesPerTile == 2 ? new short[chunkCount][] : null;
+        ints = bytesPerTile == 4 ? new int[chunkCount][] : null;
+    }
+
+    // GID without flip bits, 0 = empty
+    int get(int tx, int ty) {
+        int c = (ty >> CHUNK_SHIFT) * chunksX + (tx >> CHUNK_SHIFT);
+        int i = ((ty & CHUNK_MASK) << CHUNK_SHIFT) | (tx & CHUNK_MASK);
+        switch (bytesPerTile) {
+            case 1: {
+                byte[] b = bytes[c];
+                return b == null ? 0 : b[i] & 0xFF;
+            }
+            case 2: {
+                short[] s = shorts[c];
+                return s == null ? 0 : s[i] & 0xFFFF;
+            }
+            default: {
+                int[] n = ints[c];
+                return n == null ? 0 : n[i];
+            }
+        }
+    }
+
+    // Flip flags in Tiled's order, shifted down: bit 2 horizontal, bit 1 vertical, bit 0 diagonal
+    int getFlips(int tx, int ty) {
+        int c = (ty >> CHUNK_SHIFT) * chunksX + (tx >> CHUNK_SHIFT);
+        long[] f = flips == null ? null : flips[c];
+        if (f == null) return 0;
+        int i = ((ty & CHUNK_MASK) << CHUNK_SHIFT) | (tx & CHUNK_MASK);
+        int flags = 0;
+        for (int p = 0; p < 3; p++) {
+            if ((f[p * FLIP_WORDS + (i >> 6)] & (1L << i)) != 0) flags |= 1 << p;
+        }
+        return flags;
+    }
+
+    // Raw GID (flip bits included); widens the whole layer if the GID doesn't fit the current cells
+    void set(int tx, int ty, int raw) {
+        int gid = raw & GID_MASK;
+        int needed = bytesFor(gid);
+        if (needed > bytesPerTile) widen(needed);
+
+        int c = (ty >> CHUNK_SHIFT) * chunksX + (tx >> CHUNK_SHIFT);
+        int i = ((ty & CHUNK_MASK) << CHUNK_SHIFT) | (tx & CHUNK_MASK);
+        switch (bytesPerTile) {
+            case 1: {
+                if (bytes[c] == null) {
+                    if (gid == 0) break;
+                    bytes[c] = new byte[CHUNK_TILES];
+                }
+                bytes[c][i] = (byte) gid;
+                break;
+            }
+            case 2: {
+                if (shorts[c] == null) {
+                    if (gid == 0) break;
+                    shorts[c] = new short[CHUNK_TILES];
+                }
+                shorts[c][i] = (short) gid;
+                break;
+            }
+            default: {
+                if (ints[c] == null) {
+                    if (gid == 0) break;
+                    ints[c] = new int[CHUNK_TILES];
+                }
+                ints[c][i] = gid;
+            }
+        }
+        setFlips(c, i, raw >>> 29);
+    }
+
+    private void setFlips(int c, int i, int flags) {
+        if (flags == 0 && (flips == null || flips[c] == null)) return;
+        if (flips == null) flips = new long[chunkCount][];
+        if (flips[c] == null) flips[c] = new long[3 * FLIP_WORDS];
+
+        long[] f = flips[c];
+        for (int p = 0; p < 3; p++) {
+            int w = p * FLIP_WORDS + (i >> 6);
+            if ((flags & (1 << p)) != 0) f[w] |= 1L << i;
+            else f[w] &= ~(1L << i);
+        }
+    }
+
+    private void widen(int newBytes) {
+        int[][] cells = new int[chunkCount][];
+        for (int c = 0; c < chunkCount; c++) {
+            if (!hasChunk(c)) continue;
+            int[] out = new int[CHUNK_TILES];
+            for (int i = 0; i < CHUNK_TILES; i++) out[i] = cell(c, i);
+            cells[c] = out;
+        }
+
+        allocate(newBytes);
+        for (int c = 0; c < chunkCount; c++) {
+            if (cells[c] == null) continue;
+            if (newBytes == 2) {
+                short[] s = new short[CHUNK_TILES];
+                for (int i = 0; i < CHUNK_TILES; i++) s[i] = (short) cells[c][i];
+                shorts[c] = s;
+            } else {
+                ints[c] = cells[c];
+            }
+        }
+    }
+
+    private boolean hasChunk(int c) {
+        return switch (bytesPerTile) {
+            case 1 -> bytes[c] != null;
+            case 2 -> shorts[c] != null;
+            default -> ints[c] != null;
+        };
+    }
+
+    private int cell(int c, int i) {
+        return switch (bytesPerTile) {
+            case 1 -> bytes[c][i] & 0xFF;
+            case 2 -> shorts[c][i] & 0xFFFF;
+            default -> ints[c][i];
+        };
+    }
+
+    int getBytesPerTile() {
+        return bytesPerTile;
+    }
+
+    // Cells, chunk tables and flip bits (array headers ignored)
+    long residentBytes() {
+        long n = (long) chunkCount * 8 * (flips == null ? 1 : 2);
+        for (int c = 0; c < chunkCount; c++) {
+            if (hasChunk(c)) n += (long) CHUNK_TILES * bytesPerTile;
+            if (flips != null && flips[c] != null) n += 3 * FLIP_WORDS * 8;
+        }
+        return n;
+    }
+}
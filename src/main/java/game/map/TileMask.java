@@ -0,0 +1,66 @@
+package main.java.game.map;
+
+// One bit per tile, rows padded to whole longs (a tile row is a few words, so row spans are word ops).
+// Out-of-map tiles read as `outside`. Built at load time, read-only afterwards: safe to share across threads.
+public class TileMask {
+
+    public final int cols, rows;
+    private final int wordsPerRow;
+    private final long[] bits;
+    private final boolean outside;
+
+    public TileMask(int cols, int rows, boolean outside) {
+        this.cols = cols;
+        this.rows = rows;
+        this.wordsPerRow = (cols + 63) >>> 6;
+        this.bits = new long[wordsPerRow * rows];
+        this.outside = outside;
+    }
+
+    public boolean get(int tx, int ty) {
+        if (tx < 0 || ty < 0 || tx >= cols || ty >= rows) return outside;
+        return (bits[ty * wordsPerRow + (tx >>> 6)] & (1L << tx)) != 0;
+    }
+
+    public void set(int tx, int ty, boolean on) {
+        int i = ty * wordsPerRow + (tx >>> 6);
+        if (on) bits[i] |= 1L << tx;
+        else bits[i] &= ~(1L << tx);
+    }
+
+    // Any bit set in the tile rect [tx0..tx1] x [ty0..ty1] (inclusive): a couple of word ops per row
+    public boolean any(int tx0, int ty0, int tx1, int ty1) {
+        if (tx0 < 0 || ty0 < 0 || tx1 >= cols || ty1 >= rows) {
+            if (outside) return true;
+            tx0 = Math.max(tx0, 0);
+            ty0 = Math.max(ty0, 0);
+            tx1 = Math.min(tx1, cols - 1);
+            ty1 = Math.min(ty1, rows - 1);
+            if (tx0 > tx1 || ty0 > ty1) return false;
+        }
+
+        int w0 = tx0 >>> 6, w1 = tx1 >>> 6;
+        long first = -1L << tx0;               // bits >= tx0 in its word
+        long last = -1L >>> (63 - (tx1 & 63)); // bits <= tx1 in its word
+
+        for (int ty = ty0; ty <= ty1; ty++) {
+            int row = ty * wordsPerRow;
+            if (w0 == w1) {
+                if ((bits[row + w0] & first & last) != 0) return true;
+                continue;
+            }
+            if ((bits[row + w0] & first) != 0) return true;
+            for (int w = w0 + 1; w < w1; w++) {
+                if (bits[row + w] != 0) return true;
+            }
+            if ((bits[row + w1] & last) != 0) return true;
+        }
+        return false;
+    }
+
+    public int count() {
+        int n = 0;
+        for (long w : bits) n += Long.bitCount(w);
+        return n;
+    }
+}
@@ -2,20 +2,22 @@ package main.java.game.map;
 
 import com.google.gson.*;
 import main.java.game.ResourcePathResolver;
+import main.java.game.Resources;
+import main.java.game.gfx.SpriteCache;
 import main.java.game.physics.Rect;
 
+import java.awt.image.BufferedImage;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
 
 
 public class TiledLoader {
 
-    private static final int FLIP_MASK = 0xE0000000;  // top 3 bits
-    private static final int GID_MASK = 0x1FFFFFFF;
-
     public static TiledMap loadJsonMap(String resource) {
-        try (InputStream in = TiledLoader.class.getResourceAsStream(resource)) {
+        try (InputStream in = Resources.open(resource)) {
             if (in == null) throw new IllegalArgumentException("Missing resource: " + resource);
             JsonObject root = JsonParser.parseReader(new InputStreamReader(in, StandardCharsets.UTF_8)).getAsJsonObject();
 
@@ -26,6 +28,7 @@ public class TiledLoader {
             int tileW = root.get("tilewidth").getAsInt();
             int tileH = root.get("tileheight").getAsInt();
             TiledMap map = new TiledMap(width, height, tileW, tileH);
+            map.addSource(resource);
 
 
             // --- Tileset handling ---
@@ -43,18 +46,21 @@ public class TiledLoader {
                 // Normalize to a classpath-style resource by joining with the map's folder.
                 String mapFolder = resource.substring(0, resource.lastIndexOf('/') + 1);
                 String tilesetRes = ResourcePathResolver.resolve(mapFolder, source);
+                map.addSource(tilesetRes);
 
-                try (InputStream tsIn = TiledLoader.class.getResourceAsStream(tilesetRes)) {
+                try (InputStream tsIn = Resources.open(tilesetRes)) {
                     if (tsIn == null) throw new IllegalArgumentException("Missing tileset resource: " + tilesetRes);
                     JsonObject tsRoot = JsonParser.parseReader(new InputStreamReader(tsIn, StandardCharsets.UTF_8)).getAsJsonObject();
                     String tilesetFolder = tilesetRes.substring(0, tilesetRes.lastIndexOf('/') + 1);
                     image = ResourcePathResolver.resolve(tilesetFolder, tsRoot.get("image").getAsString());
                     columns = tsRoot.get("columns").getAsInt();
+                    readTileFlags(tsRoot, firstGid, map);
                 }
             } else {
                 // Embedded tileset
                 image = ts0.get("image").getAsString();
                 columns = ts0.get("columns").getAsInt();
+                readTileFlags(ts0, firstGid, map);
             }
 
 
@@ -64,20 +70,21 @@ public class TiledLoader {
 
 
             // --- Layers ---
+            // Prop images decoded once per load (not through the SpriteCache, so a hot reload gets fresh ones)
+            Map<String, BufferedImage> propImages = new HashMap<>();
             for (JsonElement e : root.getAsJsonArray("layers")) {
                 JsonObject lay = e.getAsJsonObject();
                 String type = lay.get("type").getAsString();
 
 
                 if (type.equals("tilelayer")) {
+                    // GIDs are unsigned 32-bit in the JSON once flip bits are set; the layer splits them off
                     JsonArray arr = lay.get("data").getAsJsonArray();
-                    int[] data = new int[arr.size()];
+                    int[] raw = new int[arr.size()];
                     for (int i = 0; i < arr.size(); i++) {
-                        int raw = arr.get(i).getAsInt();
-                        int gid = raw & GID_MASK;
-                        data[i] = gid;
+                        raw[i] = (int) arr.get(i).getAsLong();
                     }
-                    map.addLayer(data);
+                    map.addLayer(raw);
                 } else if (type.equals("objectgroup") && lay.get("name").getAsString().equalsIgnoreCase("colliders")) {
                     for (JsonElement oe : lay.get("objects").getAsJsonArray()) {
                         JsonObject o = oe.getAsJsonObject();
@@ -87,11 +94,96 @@ public class TiledLoader {
                         int h = o.get("height").getAsInt();
                         map.addCollider(new Rect(x, y, w, h));
                     }
+                } else if (type.equals("objectgroup") && lay.get("name").getAsString().equalsIgnoreCase("spawns")) {
+                    for (JsonElement oe : lay.get("objects").getAsJsonArray()) {
+                        SpawnPoint p = readSpawn(oe.getAsJsonObject(), resource);
+                        if (p != null) map.addSpawn(p);
+                    }
+                } else if (type.equals("objectgroup")) {
+                    // Buildings / decorations: objects with an "image" property (path relative to the map)
+                    for (JsonElement oe : lay.get("objects").getAsJsonArray()) {
+                        JsonObject o = oe.getAsJsonObject();
+                        String imageProp = getStringProperty(o, "image");
+                        if (imageProp == null) continue;
+
+                        String imageRes = ResourcePathResolver.resolve(resource, imageProp);
+                        BufferedImage img = propImages.computeIfAbsent(imageRes, SpriteCache::decode);
+                        map.addSource(imageRes);
+
+                        int x = o.get("x").getAsInt();
+                        int y = o.get("y").getAsInt();
+                        int w = o.has("width") ? o.get("width").getAsInt() : 0;
+                        int h = o.has("height") ? o.get("height").getAsInt() : 0;
+
+                        // Image sits on the bottom edge of the object, centered horizontally
+                        int footY = y + h;
+                        int imgX = x + w / 2 - img.getWidth() / 2;
+                        int imgY = footY - img.getHeight();
+                        map.addProp(new MapProp(img, imgX, imgY, footY));
+                    }
                 }
             }
+
+            // Merge the hand-drawn collider boxes, build the per-tile solidity mask
+            map.finishColliders();
+            if (TiledMap.DEBUG) {
+                SpawnTable spawns = map.getSpawnTable();
+                System.out.printf("Spawns: %d enemy points (%d enemies), player start %s%n", spawns.size(),
+                        spawns.totalCount(), spawns.getPlayerSpawn() != null ? "set" : "missing");
+                System.out.printf("Tile layers: %d, %.1f KB resident (%.1f KB as int[])%n", map.getLayerCount(),
+                        map.getLayerBytes() / 1024.0, map.getFlatLayerBytes() / 1024.0);
+            }
             return map;
         } catch (Exception ex) {
             throw new RuntimeException("Failed to load map: " + resource, ex);
         }
     }
-}
\ No newline at end of file
+
+    // Tileset tiles with a bool "collides" property block movement wherever they are placed
+    private static void readTileFlags(JsonObject tileset, int firstGid, TiledMap map) {
+        if (!tileset.has("tiles")) return;
+        for (JsonElement te : tileset.getAsJsonArray("tiles")) {
+            JsonObject t = te.getAsJsonObject();
+            if ("true".equals(getStringProperty(t, "collides"))) map.addCollidingTile(firstGid + t.get("id").getAsInt());
+        }
+    }
+
+    // Spawn object: kind from a "type" property (or the object's own type/class), plus optional "team",
+    // "sprite" (sprite folder, relative to the map) and "count" properties. Centered on the object.
+    private static SpawnPoint readSpawn(JsonObject o, String resource) {
+        String kind = getStringProperty(o, "type");
+        if (kind == null && o.has("type")) kind = o.get("type").getAsString();
+        if ((kind == null || kind.isEmpty()) && o.has("class")) kind = o.get("class").getAsString();
+        kind = kind == null ? "" : kind.toLowerCase();
+        if (!kind.equals(SpawnPoint.PLAYER) && !kind.equals(SpawnPoint.ENEMY)) {
+            System.err.println("Warning: skipping spawn object " + o.get("id") + " of unknown type '" + kind + "'");
+            return null;
+        }
+
+        String team = getStringProperty(o, "team");
+        String sprite = getStringProperty(o, "sprite");
+        if (sprite != null) {
+            sprite = ResourcePathResolver.resolve(resource, sprite);
+            if (!sprite.endsWith("/")) sprite += "/";
+        }
+        String count = getStringProperty(o, "count");
+        String unit = getStringProperty(o, "unit");
+
+        float w = o.has("width") ? o.get("width").getAsFloat() : 0f;
+        float h = o.has("height") ? o.get("height").getAsFloat() : 0f;
+        return new SpawnPoint(kind, team != null ? team : (kind.equals(SpawnPoint.PLAYER) ? "player" : "enemy"),
+                unit != null ? unit.toLowerCase() : "warrior", sprite,
+                count != null ? Math.max(1, Integer.parseInt(count)) : 1,
+                o.get("x").getAsFloat() + w / 2f, o.get("y").getAsFloat() + h / 2f);
+    }
+
+    // Tiled custom properties: "properties": [{"name": ..., "type": ..., "value": ...}]
+    private static String getStringProperty(JsonObject o, String name) {
+        if (!o.has("properties")) return null;
+        for (JsonElement pe : o.getAsJsonArray("properties")) {
+            JsonObject p = pe.getAsJsonObject();
+            if (p.get("name").getAsString().equals(name)) return p.get("value").getAsString();
+        }
+        return null;
+    }
+}
@@ -1,21 +1,33 @@
 package main.java.game.map;
 
+import main.java.game.physics.ColliderIndex;
 import main.java.game.physics.Rect;
 
+import main.java.game.Resources;
+
 import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 import main.java.game.gfx.Camera;
+import main.java.game.gfx.Raster;
 
 public class TiledMap {
+    // Load statistics on the console (collider merge, tile layers, spawns), off by default
+    static final boolean DEBUG = Boolean.getBoolean("game.mapLog");
+
     public final int width, height, tileWidth, tileHeight;
     public final int pixelW, pixelH;
-    private final List<int[]> layers = new ArrayList<>();
+    private final List<TileLayer> layers = new ArrayList<>();
+    // Bumped by setTile: cached renderings of the map (MapSurface) must redraw
+    private int editCount;
 
 
     // Single-image tileset for simplicity
@@ -23,9 +35,40 @@ public class TiledMap {
     private int firstGid = 1;
     private int tilesetColumns = 0;
 
+    // Tileset as ARGB ints for the Raster path, extracted on first raster draw;
+    // per local tile id: no transparent pixel (drawn with row copies)
+    private volatile int[] tilesetPixels;
+    private boolean[] tileOpaque;
+
 
     public final List<Rect> colliders = new ArrayList<>();
 
+    // Broadphase over the colliders for movement, built on first use (the loader is done adding by then)
+    private volatile ColliderIndex colliderIndex;
+    private static final int COLLIDER_CELL = 128;
+
+    // Built once at load (see finishColliders), read-only afterwards:
+    //  solid    - fully covered by a collider or a tile flagged "collides" (outside the map counts as solid)
+    //  contact  - touched by any collider at all; boxes over clear tiles skip collider resolution entirely
+    //  walkable - ground tile present and not solid (for AI / pathfinding)
+    private final TileMask solidTiles;
+    private final TileMask contactTiles;
+    private final TileMask walkableTiles;
+
+    // GIDs whose tileset entry has a bool "collides" property
+    private final Set<Integer> collidingGids = new HashSet<>();
+
+    // Buildings / decorations from the object layers, depth-sorted with the entities
+    public final List<MapProp> props = new ArrayList<>();
+
+    // Spawn objects from the "spawns" object layer, indexed on first use (the loader is done adding by then)
+    private final List<SpawnPoint> spawnPoints = new ArrayList<>();
+    private volatile SpawnTable spawnTable;
+
+    // Resource paths this map was built from (map JSON, external tileset JSON, tileset image).
+    // Used by the dev resource watcher to decide when the map must be reparsed.
+    private final Set<String> sources = new LinkedHashSet<>();
+
 
     public TiledMap(int width, int height, int tileWidth, int tileHeight) {
         this.width = width;
@@ -34,6 +77,9 @@ public class TiledMap {
         this.tileHeight = tileHeight;
         this.pixelW = width * tileWidth;
         this.pixelH = height * tileHeight;
+        this.solidTiles = new TileMask(width, height, true);
+        this.contactTiles = new TileMask(width, height, true);
+        this.walkableTiles = new TileMask(width, height, false);
     }
 
 
@@ -47,7 +93,7 @@ public class TiledMap {
 
 
     void setTileset(String imagePath, int firstGid, int columns) {
-        try (var in = getClass().getResourceAsStream(imagePath)) {
+        try (var in = Resources.open(imagePath)) {
             if (in == null) throw new IllegalArgumentException("Missing tileset image: " + imagePath);
             tileset = ImageIO.read(in);
             if (tileset == null) throw new IllegalArgumentException("Unsupported/invalid image: " + imagePath);
@@ -57,16 +103,234 @@ public class TiledMap {
 
         this.firstGid = firstGid;
         this.tilesetColumns = columns;
+        sources.add(imagePath);
+    }
+
+
+    void addSource(String resourcePath) {
+        sources.add(resourcePath);
+    }
+
+    public boolean dependsOn(String resourcePath) {
+        return sources.contains(resourcePath);
+    }
+
+
+    // Raw Tiled layer data (flip bits included), compacted on the way in
+    void addLayer(int[] raw) {
+        layers.add(TileLayer.fromRaw(raw, width, height));
+    }
+
+    // Runtime tile change (Tiled GID, flip bits allowed, 0 = empty). Collision masks are not rebuilt.
+    public void setTile(int layer, int tx, int ty, int gid) {
+        layers.get(layer).set(tx, ty, gid);
+        editCount++;
+    }
+
+    // GID without flip bits, 0 = empty
+    public int getTile(int layer, int tx, int ty) {
+        return layers.get(layer).get(tx, ty);
+    }
+
+    // Tiled flip flags of a tile: bit 2 horizontal, bit 1 vertical, bit 0 diagonal
+    public int getTileFlips(int layer, int tx, int ty) {
+        return layers.get(layer).getFlips(tx, ty);
+    }
+
+    // Resident tile layer storage, and what plain int[] layers would take
+    public long getLayerBytes() {
+        long n = 0;
+        for (TileLayer l : layers) n += l.residentBytes();
+        return n;
+    }
+
+    public long getFlatLayerBytes() {
+        return (long) layers.size() * width * height * 4;
     }
 
+    public int getLayerCount() {
+        return layers.size();
+    }
 
-    void addLayer(int[] data) {
-        layers.add(data);
+    public int getEditCount() {
+        return editCount;
     }
 
 
+    void addCollidingTile(int gid) {
+        collidingGids.add(gid);
+    }
+
     public void addCollider(Rect r) {
         colliders.add(r);
+        colliderIndex = null;
+    }
+
+    // Loader, once every collider and layer is in: merges the tile-aligned colliders and fills the tile masks
+    void finishColliders() {
+        int before = colliders.size();
+        float checksBefore = DEBUG ? averageCandidates() : 0f; // a pass over every tile, only for the log
+
+        // "collides" tiles become plain colliders, so movement needs nothing else (merged with the rest below)
+        if (!collidingGids.isEmpty()) {
+            for (TileLayer layer : layers) {
+                for (int ty = 0; ty < height; ty++) {
+                    for (int tx = 0; tx < width; tx++) {
+                        int gid = layer.get(tx, ty);
+                        if (gid != 0 && collidingGids.contains(gid)) {
+                            colliders.add(new Rect(tx * tileWidth, ty * tileHeight, tileWidth, tileHeight));
+                        }
+                    }
+                }
+            }
+        }
+
+        ColliderMerger.merge(colliders, solidTiles, tileWidth, tileHeight);
+        colliderIndex = null;
+
+        for (Rect r : colliders) {
+            if (r.w <= 0 || r.h <= 0) continue;
+            int tx0 = Math.max(0, Math.floorDiv(r.x, tileWidth));
+            int ty0 = Math.max(0, Math.floorDiv(r.y, tileHeight));
+            int tx1 = Math.min(width - 1, Math.floorDiv(r.x + r.w - 1, tileWidth));
+            int ty1 = Math.min(height - 1, Math.floorDiv(r.y + r.h - 1, tileHeight));
+            for (int ty = ty0; ty <= ty1; ty++) {
+                for (int tx = tx0; tx <= tx1; tx++) contactTiles.set(tx, ty, true);
+            }
+        }
+
+        // First tile layer is the ground; no layers at all = everything is ground
+        TileLayer ground = layers.isEmpty() ? null : layers.getFirst();
+        for (int ty = 0; ty < height; ty++) {
+            for (int tx = 0; tx < width; tx++) {
+                boolean hasGround = ground == null || ground.get(tx, ty) != 0;
+                walkableTiles.set(tx, ty, hasGround && !solidTiles.get(tx, ty));
+            }
+        }
+
+        if (DEBUG) {
+            System.out.printf("Colliders: %d -> %d rects, %d solid tiles; checks per move: %d -> %d brute force,"
+                            + " %.2f -> %.2f indexed%n", before, colliders.size(), solidTiles.count(), before * 2,
+                    colliders.size() * 2, checksBefore, averageCandidates());
+        }
+    }
+
+    // Colliders the index hands back for a one-tile box, averaged over every tile of the map
+    private float averageCandidates() {
+        if (colliders.isEmpty()) return 0f;
+        ColliderIndex index = new ColliderIndex(colliders, pixelW, pixelH, COLLIDER_CELL);
+        List<Rect> out = new ArrayList<>();
+        for (int ty = 0; ty < height; ty++) {
+            for (int tx = 0; tx < width; tx++) index.query(tx * tileWidth, ty * tileHeight, tileWidth, tileHeight, out);
+        }
+        return out.size() / (float) (width * height);
+    }
+
+    public boolean isSolidTile(int tx, int ty) {
+        return solidTiles.get(tx, ty);
+    }
+
+    public boolean isSolidAt(float worldX, float worldY) {
+        return solidTiles.get(tileX(worldX), tileY(worldY));
+    }
+
+    // Stops a projectile: off the map, a solid tile, or inside a collider (only looked up on contact tiles)
+    public boolean blocksPoint(float worldX, float worldY) {
+        if (worldX < 0 || worldY < 0 || worldX >= pixelW || worldY >= pixelH) return true;
+        int tx = tileX(worldX), ty = tileY(worldY);
+        if (solidTiles.get(tx, ty)) return true;
+        return contactTiles.get(tx, ty) && getColliderIndex().containsPoint((int) worldX, (int) worldY);
+    }
+
+    public boolean isWalkableTile(int tx, int ty) {
+        return walkableTiles.get(tx, ty);
+    }
+
+    // Could a box swept by (dx, dy) touch any collider? false = move it freely, nothing to resolve.
+    // Padded by a pixel so float rounding can only make it more conservative.
+    public boolean maySweepInto(float bx, float by, int w, int h, float dx, float dy) {
+        int tx0 = tileX(Math.min(bx, bx + dx) - 1f);
+        int ty0 = tileY(Math.min(by, by + dy) - 1f);
+        int tx1 = tileX(Math.max(bx, bx + dx) + w + 1f);
+        int ty1 = tileY(Math.max(by, by + dy) + h + 1f);
+        return contactTiles.any(tx0, ty0, tx1, ty1);
+    }
+
+    // Grid raycast (Amanatides & Woo DDA) over the solid mask: visits each tile the segment crosses, in order,
+    // and fails on the first solid one. Only fully blocked tiles stop sight; partial colliders don't.
+    public boolean hasLineOfSight(float x0, float y0, float x1, float y1) {
+        int tx = tileX(x0), ty = tileY(y0);
+        int endX = tileX(x1), endY = tileY(y1);
+        float dx = x1 - x0, dy = y1 - y0;
+
+        int stepX = dx > 0 ? 1 : (dx < 0 ? -1 : 0);
+        int stepY = dy > 0 ? 1 : (dy < 0 ? -1 : 0);
+
+        // Ray parameter (0..1) at the next vertical / horizontal tile boundary, and per whole tile
+        float tMaxX = stepX > 0 ? ((tx + 1) * tileWidth - x0) / dx : (stepX < 0 ? (tx * tileWidth - x0) / dx : Float.POSITIVE_INFINITY);
+        float tMaxY = stepY > 0 ? ((ty + 1) * tileHeight - y0) / dy : (stepY < 0 ? (ty * tileHeight - y0) / dy : Float.POSITIVE_INFINITY);
+        float tDeltaX = stepX != 0 ? tileWidth / Math.abs(dx) : Float.POSITIVE_INFINITY;
+        float tDeltaY = stepY != 0 ? tileHeight / Math.abs(dy) : Float.POSITIVE_INFINITY;
+
+        // Exactly one tile per step: never more than the Manhattan distance
+        int steps = Math.abs(endX - tx) + Math.abs(endY - ty);
+        for (int i = 0; i <= steps; i++) {
+            if (solidTiles.get(tx, ty)) return false;
+            if (tMaxX < tMaxY) {
+                tMaxX += tDeltaX;
+                tx += stepX;
+            } else {
+                tMaxY += tDeltaY;
+                ty += stepY;
+            }
+        }
+        return true;
+    }
+
+    // Read-only masks for line of sight / pathfinding
+    public TileMask getSolidMask() {
+        return solidTiles;
+    }
+
+    public TileMask getWalkableMask() {
+        return walkableTiles;
+    }
+
+    public int tileX(float worldX) {
+        return (int) Math.floor(worldX / tileWidth);
+    }
+
+    public int tileY(float worldY) {
+        return (int) Math.floor(worldY / tileHeight);
+    }
+
+    public ColliderIndex getColliderIndex() {
+        ColliderIndex index = colliderIndex;
+        if (index == null) {
+            // Racing builders just build the same thing twice
+            index = new ColliderIndex(colliders, pixelW, pixelH, COLLIDER_CELL);
+            colliderIndex = index;
+        }
+        return index;
+    }
+
+
+    void addProp(MapProp p) {
+        props.add(p);
+    }
+
+    public void addSpawn(SpawnPoint p) {
+        spawnPoints.add(p);
+        spawnTable = null;
+    }
+
+    public SpawnTable getSpawnTable() {
+        SpawnTable table = spawnTable;
+        if (table == null) {
+            table = new SpawnTable(spawnPoints, pixelW, pixelH);
+            spawnTable = table;
+        }
+        return table;
     }
 
 
@@ -79,54 +343,124 @@ public class TiledMap {
         int endX = Math.min(width - 1, (int) ((cam.x + cam.viewW) / tileWidth) + 1);
         int endY = Math.min(height - 1, (int) ((cam.y + cam.viewH) / tileHeight) + 1);
 
-        for (int[] layer : layers) {
+        for (TileLayer layer : layers) {
             for (int ty = startY; ty <= endY; ty++) {
                 for (int tx = startX; tx <= endX; tx++) {
-                    int raw = layer[ty * width + tx];
-                    int gid = raw & 0x1FFFFFFF; // mask out flip bits
+                    int gid = layer.get(tx, ty); // flip bits are kept apart
                     if (gid == 0) continue;
                     int local = gid - firstGid;
                     if (local < 0) continue;
                     int sx = (local % tilesetColumns) * tileWidth;
                     int sy = (local / tilesetColumns) * tileHeight;
-                    g.drawImage(tileset, (int) (tx * tileWidth - cam.x), (int) (ty * tileHeight - cam.y),
-                            (int) (tx * tileWidth - cam.x) + tileWidth, (int) (ty * tileHeight - cam.y) + tileHeight,
+                    int dx = tx * tileWidth - cam.originX;
+                    int dy = ty * tileHeight - cam.originY;
+                    g.drawImage(tileset, dx, dy, dx + tileWidth, dy + tileHeight,
                             sx, sy, sx + tileWidth, sy + tileHeight, null);
                 }
             }
         }
     }
 
-    public boolean isWalkable(float worldX, float worldY) { // Not using it for now since the whole map is bounded.
-        // Convert world pixel coords to tile coords
-        int tileX = (int) (worldX / tileWidth);
-        int tileY = (int) (worldY / tileHeight);
+    // Same tiles as draw(Graphics2D, Camera), through the int[] blitter
+    public void draw(Raster r, Camera cam) {
+        if (tileset == null) return;
+        if (tilesetColumns <= 0) return;
+
+        int[] src = tilesetPixels;
+        if (src == null) src = extractTileset();
+        int srcW = tileset.getWidth();
+        int tileCount = tileOpaque.length;
 
-        // Outside the map = not walkable (treat as pit)
-        if (tileX < 0 || tileY < 0 || tileX >= width || tileY >= height) {
-            return false;
-        }
+        int startX = Math.max(0, (int) (cam.x / tileWidth));
+        int endX = Math.min(width - 1, (int) ((cam.x + cam.viewW) / tileWidth) + 1);
+        // Only the tile rows under the clip (a band when rendering in parallel), one row of slack each side
+        int startY = Math.max(0, (int) ((cam.y + r.getClipY0()) / tileHeight) - 1);
+        int endY = Math.min(height - 1, (int) ((cam.y + r.getClipY1()) / tileHeight) + 1);
 
-        // No layers? be safe and treat as walkable
-        if (layers.isEmpty()) {
-            return true;
+        for (TileLayer layer : layers) {
+            for (int ty = startY; ty <= endY; ty++) {
+                for (int tx = startX; tx <= endX; tx++) {
+                    int gid = layer.get(tx, ty); // flip bits are kept apart
+                    if (gid == 0) continue;
+                    int local = gid - firstGid;
+                    if (local < 0 || local >= tileCount) continue;
+                    int sx = (local % tilesetColumns) * tileWidth;
+                    int sy = (local / tilesetColumns) * tileHeight;
+                    int dx = tx * tileWidth - cam.originX;
+                    int dy = ty * tileHeight - cam.originY;
+                    if (tileOpaque[local]) r.copyOpaque(src, srcW, sx, sy, tileWidth, tileHeight, dx, dy);
+                    else r.blitKeyed(src, srcW, sx, sy, tileWidth, tileHeight, dx, dy);
+                }
+            }
         }
+    }
 
-        // We treat the first tile layer as the ground
-        int[] ground = layers.getFirst();  // <-- index 0 = Ground. getFirst() on Java 21+ (Project uses Java 23)
-
-        int index = tileY * width + tileX;
-        if (index < 0 || index >= ground.length) {
-            // Safety check, though it shouldn't happen
-            return false;
+    // Every layer, tiles placed at (tx * tileWidth - ox, ty * tileHeight - oy), only those under r's clip.
+    // Integer origin, so the result is an exact translation of any other origin (MapSurface scrolls it).
+    // Returns the number of tiles drawn.
+    public int drawTiles(Raster r, int ox, int oy) {
+        if (tileset == null) return 0;
+        if (tilesetColumns <= 0) return 0;
+
+        int[] src = tilesetPixels;
+        if (src == null) src = extractTileset();
+        int srcW = tileset.getWidth();
+        int tileCount = tileOpaque.length;
+
+        int startX = Math.max(0, Math.floorDiv(ox + r.getClipX0(), tileWidth));
+        int endX = Math.min(width - 1, Math.floorDiv(ox + r.getClipX1() - 1, tileWidth));
+        int startY = Math.max(0, Math.floorDiv(oy + r.getClipY0(), tileHeight));
+        int endY = Math.min(height - 1, Math.floorDiv(oy + r.getClipY1() - 1, tileHeight));
+
+        int drawn = 0;
+        for (TileLayer layer : layers) {
+            for (int ty = startY; ty <= endY; ty++) {
+                for (int tx = startX; tx <= endX; tx++) {
+                    int gid = layer.get(tx, ty);
+                    if (gid == 0) continue;
+                    int local = gid - firstGid;
+                    if (local < 0 || local >= tileCount) continue;
+                    int sx = (local % tilesetColumns) * tileWidth;
+                    int sy = (local / tilesetColumns) * tileHeight;
+                    int dx = tx * tileWidth - ox;
+                    int dy = ty * tileHeight - oy;
+                    if (tileOpaque[local]) r.copyOpaque(src, srcW, sx, sy, tileWidth, tileHeight, dx, dy);
+                    else r.blitKeyed(src, srcW, sx, sy, tileWidth, tileHeight, dx, dy);
+                    drawn++;
+                }
+            }
         }
+        return drawn;
+    }
 
-        // 0 = no tile, >0 = some tile from terrain set
-        int raw = ground[index];
-        int gid = raw & 0x1FFFFFFF;
+    private synchronized int[] extractTileset() {
+        if (tilesetPixels != null) return tilesetPixels;
+
+        int w = tileset.getWidth(), h = tileset.getHeight();
+        int[] px = tileset.getRGB(0, 0, w, h, null, 0, w);
+        int rows = h / tileHeight;
+        boolean[] opaque = new boolean[tilesetColumns * rows];
+        for (int t = 0; t < opaque.length; t++) {
+            int sx = (t % tilesetColumns) * tileWidth, sy = (t / tilesetColumns) * tileHeight;
+            boolean all = sx + tileWidth <= w;
+            for (int y = sy; all && y < sy + tileHeight; y++) {
+                for (int x = sx; x < sx + tileWidth; x++) {
+                    if (px[y * w + x] >>> 24 != 255) {
+                        all = false;
+                        break;
+                    }
+                }
+            }
+            opaque[t] = all;
+        }
+        tileOpaque = opaque;
+        tilesetPixels = px; // published last
+        return px;
+    }
 
-        // No tile on ground layer = pit/void
-        return gid != 0;
+    // Ground present and not blocked; outside the map = not walkable (treat as pit)
+    public boolean isWalkable(float worldX, float worldY) {
+        return walkableTiles.get(tileX(worldX), tileY(worldY));
     }
 
 
@@ -0,0 +1,87 @@
+package main.java.game.physics;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Read-only uniform grid over the static map colliders, built once per map.
+// Unlike SpatialGrid, queries write nothing (no stamps): any number of threads can share one index.
+// A collider spanning several cells is reported only from the first cell of the query that it covers.
+public class ColliderIndex {
+
+    private final Rect[] rects;
+    private final int cellSize;
+    private final int cols, rows;
+
+    // Cell -> collider ids, flattened (ids of cell c are cellItems[cellStart[c] .. cellStart[c + 1]))
+    private final int[] cellStart;
+    private final int[] cellItems;
+
+    public ColliderIndex(List<Rect> colliders, int worldW, int worldH, int cellSize) {
+        this.rects = colliders.toArray(new Rect[0]);
+        this.cellSize = cellSize;
+        this.cols = Math.max(1, (worldW + cellSize - 1) / cellSize);
+        this.rows = Math.max(1, (worldH + cellSize - 1) / cellSize);
+
+        // Count per cell, prefix-sum, then fill
+        int[] counts = new int[cols * rows + 1];
+        for (Rect r : rects) {
+            for (int cy = cellY(r.y); cy <= cellY(r.y + r.h - 1); cy++) {
+                for (int cx = cellX(r.x); cx <= cellX(r.x + r.w - 1); cx++) counts[cy * cols + cx + 1]++;
+            }
+        }
+        for (int i = 1; i < counts.length; i++) counts[i] += counts[i - 1];
+        this.cellStart = counts;
+
+        this.cellItems = new int[counts[counts.length - 1]];
+        int[] fill = Arrays.copyOf(counts, counts.length - 1);
+        for (int id = 0; id < rects.length; id++) {
+            Rect r = rects[id];
+            for (int cy = cellY(r.y); cy <= cellY(r.y + r.h - 1); cy++) {
+                for (int cx = cellX(r.x); cx <= cellX(r.x + r.w - 1); cx++) cellItems[fill[cy * cols + cx]++] = id;
+            }
+        }
+    }
+
+    // Every collider overlapping the box (each at most once)
+    public void query(int x, int y, int w, int h, List<Rect> out) {
+        int c0 = cellX(x), c1 = cellX(x + w - 1);
+        int r0 = cellY(y), r1 = cellY(y + h - 1);
+
+        for (int cy = r0; cy <= r1; cy++) {
+            for (int cx = c0; cx <= c1; cx++) {
+                int cell = cy * cols + cx;
+                for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                    Rect r = rects[cellItems[i]];
+                    // Report from the first shared cell only
+                    if (Math.max(cellX(r.x), c0) != cx || Math.max(cellY(r.y), r0) != cy) continue;
+                    if (x < r.x + r.w && x + w > r.x && y < r.y + r.h && y + h > r.y) out.add(r);
+                }
+            }
+        }
+    }
+
+    // Is the point inside any collider (projectiles, line tests); one cell, no output list
+    public boolean containsPoint(int px, int py) {
+        int cell = cellY(py) * cols + cellX(px);
+        for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+            Rect r = rects[cellItems[i]];
+            if (px >= r.x && px < r.x + r.w && py >= r.y && py < r.y + r.h) return true;
+        }
+        return false;
+    }
+
+    public int size() {
+        return rects.length;
+    }
+
+    // Out-of-map boxes are clamped into the border cells
+    private int cellX(int px) {
+        int c = Math.floorDiv(px, cellSize);
+        return c < 0 ? 0 : Math.min(c, cols - 1);
+    }
+
+    private int cellY(int py) {
+        int r = Math.floorDiv(py, cellSize);
+        return r < 0 ? 0 : Math.min(r, rows - 1);
+    }
+}
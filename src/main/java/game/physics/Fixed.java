@@ -0,0 +1,60 @@
+package main.java.game.physics;
+
+// 16.16 fixed-point helpers for the deterministic physics mode (-Dgame.fixedPhysics=true).
+// In that mode entities keep an int position next to their float x/y and move()/knockback/collider
+// resolution run on ints only, so the result can't depend on float rounding or evaluation order.
+// 16 integer bits = maps up to 32767 px across.
+public final class Fixed {
+
+    public static final boolean ENABLED = Boolean.getBoolean("game.fixedPhysics");
+
+    public static final int SHIFT = 16;
+    public static final int ONE = 1 << SHIFT;
+    public static final int HALF = ONE >> 1;
+
+    private Fixed() {
+    }
+
+    public static int fromFloat(float v) {
+        return Math.round(v * ONE);
+    }
+
+    public static int fromInt(int v) {
+        return v << SHIFT;
+    }
+
+    public static float toFloat(int f) {
+        return f / (float) ONE;
+    }
+
+    public static int mul(int a, int b) {
+        return (int) (((long) a * b) >> SHIFT);
+    }
+
+    public static int div(int a, int b) {
+        return (int) (((long) a << SHIFT) / b);
+    }
+
+    // sqrt of a fixed value, as a fixed value (exact floor, fixed up in ints)
+    public static int sqrt(long f) {
+        if (f <= 0) return 0;
+        long n = f << SHIFT;
+        long r = (long) Math.sqrt((double) n); // start close, then fix up exactly in ints
+        while (r * r > n) r--;
+        while ((r + 1) * (r + 1) <= n) r++;
+        return (int) r;
+    }
+
+    // (vx, vy) rescaled to length `speed` (all fixed) into out; (speed, 0) for a zero vector
+    public static void scaleTo(int vx, int vy, int speed, int[] out) {
+        long lenSq = (((long) vx * vx) >> SHIFT) + (((long) vy * vy) >> SHIFT);
+        int len = sqrt(lenSq);
+        if (len == 0) {
+            out[0] = speed;
+            out[1] = 0;
+            return;
+        }
+        out[0] = (int) ((long) vx * speed / len);
+        out[1] = (int) ((long) vy * speed / len);
+    }
+}
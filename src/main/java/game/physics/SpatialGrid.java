@@ -0,0 +1,137 @@
+package main.java.game.physics;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Uniform grid broadphase over the map, rebuilt every tick (clear + insert is cheap: just array writes).
+// Boxes spanning several cells are linked into each of them; queries de-duplicate with a stamp per item.
+public class SpatialGrid<T> {
+
+    private final int cellSize;
+    private final int cols, rows;
+    private final int[] cellHead;   // first node per cell, -1 = empty
+
+    // Items and their boxes (x, y, w, h packed)
+    private Object[] items = new Object[64];
+    private int[] boxes = new int[64 * 4];
+    private int[] stamps = new int[64];
+    private int itemCount = 0;
+    private int queryStamp = 0;
+
+    // Cell linked lists
+    private int[] nodeItem = new int[128];
+    private int[] nodeNext = new int[128];
+    private int nodeCount = 0;
+
+    public SpatialGrid(int worldW, int worldH, int cellSize) {
+        this.cellSize = cellSize;
+        this.cols = Math.max(1, (worldW + cellSize - 1) / cellSize);
+        this.rows = Math.max(1, (worldH + cellSize - 1) / cellSize);
+        this.cellHead = new int[cols * rows];
+        Arrays.fill(cellHead, -1);
+    }
+
+    public void clear() {
+        // Only touch the cells that were used
+        for (int id = 0; id < itemCount; id++) {
+            int i = id * 4;
+            forEachCell(boxes[i], boxes[i + 1], boxes[i + 2], boxes[i + 3], -1);
+        }
+        Arrays.fill(items, 0, itemCount, null);
+        itemCount = 0;
+        nodeCount = 0;
+    }
+
+    public void insert(T item, Rect r) {
+        insert(item, r.x, r.y, r.w, r.h);
+    }
+
+    public void insert(T item, int x, int y, int w, int h) {
+        if (itemCount == items.length) {
+            items = Arrays.copyOf(items, itemCount * 2);
+            boxes = Arrays.copyOf(boxes, itemCount * 2 * 4);
+            stamps = Arrays.copyOf(stamps, itemCount * 2);
+        }
+        int id = itemCount++;
+        items[id] = item;
+        stamps[id] = 0;
+        int i = id * 4;
+        boxes[i] = x;
+        boxes[i + 1] = y;
+        boxes[i + 2] = w;
+        boxes[i + 3] = h;
+        forEachCell(x, y, w, h, id);
+    }
+
+    // Collects every item whose box overlaps the query box (each item at most once)
+    public void query(int x, int y, int w, int h, List<T> out) {
+        if (++queryStamp == 0) { // wrapped around, reset stamps
+            Arrays.fill(stamps, 0);
+            queryStamp = 1;
+        }
+
+        int c0 = cellX(x), c1 = cellX(x + w - 1);
+        int r0 = cellY(y), r1 = cellY(y + h - 1);
+
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                for (int n = cellHead[r * cols + c]; n != -1; n = nodeNext[n]) {
+                    int id = nodeItem[n];
+                    if (stamps[id] == queryStamp) continue;
+                    stamps[id] = queryStamp;
+
+                    int i = id * 4;
+                    if (x < boxes[i] + boxes[i + 2] && x + w > boxes[i]
+                            && y < boxes[i + 1] + boxes[i + 3] && y + h > boxes[i + 1]) {
+                        @SuppressWarnings("unchecked")
+                        T item = (T) items[id];
+                        out.add(item);
+                    }
+                }
+            }
+        }
+    }
+
+    public void query(Rect r, List<T> out) {
+        query(r.x, r.y, r.w, r.h, out);
+    }
+
+    public int size() {
+        return itemCount;
+    }
+
+    // id >= 0 links the item into each covered cell, id == -1 empties the covered cells
+    private void forEachCell(int x, int y, int w, int h, int id) {
+        int c0 = cellX(x), c1 = cellX(x + w - 1);
+        int r0 = cellY(y), r1 = cellY(y + h - 1);
+
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                int cell = r * cols + c;
+                if (id < 0) {
+                    cellHead[cell] = -1;
+                    continue;
+                }
+                if (nodeCount == nodeItem.length) {
+                    nodeItem = Arrays.copyOf(nodeItem, nodeCount * 2);
+                    nodeNext = Arrays.copyOf(nodeNext, nodeCount * 2);
+                }
+                int n = nodeCount++;
+                nodeItem[n] = id;
+                nodeNext[n] = cellHead[cell];
+                cellHead[cell] = n;
+            }
+        }
+    }
+
+    // Out-of-map boxes are clamped into the border cells
+    private int cellX(int px) {
+        int c = Math.floorDiv(px, cellSize);
+        return c < 0 ? 0 : Math.min(c, cols - 1);
+    }
+
+    private int cellY(int py) {
+        int r = Math.floorDiv(py, cellSize);
+        return r < 0 ? 0 : Math.min(r, rows - 1);
+    }
+}
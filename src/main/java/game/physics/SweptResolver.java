@@ -0,0 +1,142 @@
+package main.java.game.physics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Swept AABB movement against the static map colliders, shared by Player and EnemyWarrior.
+// Finds the earliest time of impact over the whole step (no tunnelling whatever the speed),
+// stops flush against the contact and slides the rest of the step along it.
+// Candidates come from the map's ColliderIndex over the swept area only.
+// One instance per entity: it holds scratch state, not thread-shared.
+public class SweptResolver {
+
+    // Contacts resolved per step: one wall, then the slide hitting a second one (corners)
+    private static final int MAX_CONTACTS = 3;
+
+    private final List<Rect> candidates = new ArrayList<>();
+
+    // Result of the last move: box top-left
+    public float boxX, boxY;
+    public int fixedX, fixedY;
+
+    // Box (bx, by, w, h) moved by (dx, dy)
+    public void move(ColliderIndex index, float bx, float by, int w, int h, float dx, float dy) {
+        for (int contact = 0; contact < MAX_CONTACTS && (dx != 0f || dy != 0f); contact++) {
+            float minX = Math.min(bx, bx + dx), maxX = Math.max(bx, bx + dx) + w;
+            float minY = Math.min(by, by + dy), maxY = Math.max(by, by + dy) + h;
+            int qx = (int) Math.floor(minX), qy = (int) Math.floor(minY);
+
+            candidates.clear();
+            index.query(qx, qy, (int) Math.ceil(maxX) - qx, (int) Math.ceil(maxY) - qy, candidates);
+
+            float tHit = 1f;
+            Rect hit = null;
+            boolean hitX = false;
+
+            for (Rect r : candidates) {
+                // Entry/exit times per axis; a non-moving axis either always overlaps or never does
+                float xEntry, xExit, yEntry, yExit;
+                if (dx > 0f) {
+                    xEntry = (r.x - (bx + w)) / dx;
+                    xExit = (r.x + r.w - bx) / dx;
+                } else if (dx < 0f) {
+                    xEntry = (r.x + r.w - bx) / dx;
+                    xExit = (r.x - (bx + w)) / dx;
+                } else if (bx < r.x + r.w && bx + w > r.x) {
+                    xEntry = Float.NEGATIVE_INFINITY;
+                    xExit = Float.POSITIVE_INFINITY;
+                } else {
+                    continue;
+                }
+
+                if (dy > 0f) {
+                    yEntry = (r.y - (by + h)) / dy;
+                    yExit = (r.y + r.h - by) / dy;
+                } else if (dy < 0f) {
+                    yEntry = (r.y + r.h - by) / dy;
+                    yExit = (r.y - (by + h)) / dy;
+                } else if (by < r.y + r.h && by + h > r.y) {
+                    yEntry = Float.NEGATIVE_INFINITY;
+                    yExit = Float.POSITIVE_INFINITY;
+                } else {
+                    continue;
+                }
+
+                float entry = Math.max(xEntry, yEntry);
+                float exit = Math.min(xExit, yExit);
+
+                // entry < 0: already overlapping (spawned inside) - let it walk out instead of trapping it
+                if (entry >= exit || entry < 0f || entry >= tHit) continue;
+
+                tHit = entry;
+                hit = r;
+                hitX = xEntry >= yEntry;
+            }
+
+            if (hit == null) {
+                bx += dx;
+                by += dy;
+                break;
+            }
+
+            // Up to the contact, flush on the blocked axis; the rest of the step slides on the free one
+            if (hitX) {
+                bx = dx > 0f ? hit.x - w : hit.x + hit.w;
+                by += dy * tHit;
+                dy *= 1f - tHit;
+                dx = 0f;
+            } else {
+                by = dy > 0f ? hit.y - h : hit.y + hit.h;
+                bx += dx * tHit;
+                dx *= 1f - tHit;
+                dy = 0f;
+            }
+        }
+
+        boxX = bx;
+        boxY = by;
+    }
+
+    // 16.16 variant for the deterministic mode (Fixed.ENABLED): swept per axis, x then y, ints only.
+    // Each axis stops at the nearest collider face it would cross, so it can't tunnel either.
+    public void moveFixed(ColliderIndex index, int bx, int by, int w, int h, int dx, int dy) {
+        int fw = Fixed.fromInt(w), fh = Fixed.fromInt(h);
+
+        if (dx != 0) {
+            query(index, Math.min(bx, bx + dx), by, Math.abs(dx) + fw, fh);
+            int newX = bx + dx;
+            for (Rect r : candidates) {
+                int left = Fixed.fromInt(r.x), right = Fixed.fromInt(r.x + r.w);
+                if (by >= Fixed.fromInt(r.y + r.h) || by + fh <= Fixed.fromInt(r.y)) continue;
+
+                if (dx > 0 && left >= bx + fw && left - fw < newX) newX = left - fw;
+                else if (dx < 0 && right <= bx && right > newX) newX = right;
+            }
+            bx = newX;
+        }
+
+        if (dy != 0) {
+            query(index, bx, Math.min(by, by + dy), fw, Math.abs(dy) + fh);
+            int newY = by + dy;
+            for (Rect r : candidates) {
+                int top = Fixed.fromInt(r.y), bottom = Fixed.fromInt(r.y + r.h);
+                if (bx >= Fixed.fromInt(r.x + r.w) || bx + fw <= Fixed.fromInt(r.x)) continue;
+
+                if (dy > 0 && top >= by + fh && top - fh < newY) newY = top - fh;
+                else if (dy < 0 && bottom <= by && bottom > newY) newY = bottom;
+            }
+            by = newY;
+        }
+
+        fixedX = bx;
+        fixedY = by;
+    }
+
+    // Fixed box -> whole-pixel query that covers it
+    private void query(ColliderIndex index, int fx, int fy, int fw, int fh) {
+        int x0 = fx >> Fixed.SHIFT, y0 = fy >> Fixed.SHIFT;
+        int x1 = (fx + fw + Fixed.ONE - 1) >> Fixed.SHIFT, y1 = (fy + fh + Fixed.ONE - 1) >> Fixed.SHIFT;
+        candidates.clear();
+        index.query(x0, y0, x1 - x0, y1 - y0, candidates);
+    }
+}